@@ -0,0 +1,420 @@
+package com.triangleleft.assertdialog;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable assert configuration. Current configuration is published by {@link Asserts} through
+ * single atomic reference, so it can be replaced at runtime from any thread, and each failure
+ * is handled with one consistent snapshot.
+ */
+public final class AssertConfig {
+
+    private static final String TAG_WILDCARD = ".*";
+    /**
+     * Tags over that limit are resolved on each failure, so tags with generated names can't
+     * grow cache unbounded.
+     */
+    private static final int MAX_RESOLVED_TAGS = 256;
+
+    private final Asserts.AssertMode mMode;
+    private final FailureHandler mHandler;
+    private final Map<String, Asserts.AssertMode> mTagModes;
+    private final FailureRateLimiter mRateLimiter;
+    private final long mDialogTimeoutMillis;
+    private final boolean mThrowOnDialogTimeout;
+    private final StackCapture mStackCapture;
+    private final AssertJournal mJournal;
+    private final ReportDispatcher mReportDispatcher;
+    private final AssertMetrics mMetrics;
+    private final SnapshotCapture mSnapshotCapture;
+    private final IgnoredSites mIgnoredSites;
+    private final SampleRate mSampleRate;
+    private final Map<String, SampleRate> mTagSampleRates;
+    /**
+     * Effective modes of tags seen so far (up to {@link #MAX_RESOLVED_TAGS}), so hierarchy is
+     * walked only once per tag.
+     * Belongs to this snapshot, so it's dropped together with it when configuration changes.
+     */
+    private final ConcurrentMap<String, Asserts.AssertMode> mResolvedTagModes =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, SampleRate> mResolvedTagSampleRates =
+            new ConcurrentHashMap<>();
+
+    private AssertConfig(Builder builder) {
+        mMode = builder.mMode;
+        mHandler = builder.mHandler;
+        mTagModes = Collections.unmodifiableMap(new HashMap<>(builder.mTagModes));
+        mRateLimiter = builder.mRateLimiter;
+        mDialogTimeoutMillis = builder.mDialogTimeoutMillis;
+        mThrowOnDialogTimeout = builder.mThrowOnDialogTimeout;
+        mStackCapture = builder.mStackCapture;
+        mJournal = builder.mJournal;
+        mReportDispatcher = builder.mReportDispatcher;
+        mMetrics = builder.mMetrics;
+        mSnapshotCapture = builder.mSnapshotCapture;
+        mIgnoredSites = builder.mIgnoredSites == null ? new IgnoredSites() : builder.mIgnoredSites;
+        mSampleRate = builder.mSampleRate;
+        mTagSampleRates = Collections.unmodifiableMap(new HashMap<>(builder.mTagSampleRates));
+    }
+
+    /**
+     * @return work mode
+     */
+    public Asserts.AssertMode getMode() {
+        return mMode;
+    }
+
+    /**
+     * @param tag assertion tag (<code>null</code> okay)
+     * @return mode of given tag: mode of closest tag prefix that has one, or default mode
+     */
+    public Asserts.AssertMode getMode(AssertTag tag) {
+        if (tag == null || mTagModes.isEmpty()) {
+            return mMode;
+        }
+
+        return resolveCached(mResolvedTagModes, mTagModes, tag.getName(), mMode);
+    }
+
+    /**
+     * @return tags with own modes
+     */
+    public Map<String, Asserts.AssertMode> getTagModes() {
+        return mTagModes;
+    }
+
+    /**
+     * @return default sample rate of sampled assertions
+     */
+    public SampleRate getSampleRate() {
+        return mSampleRate;
+    }
+
+    /**
+     * @param tag assertion tag (<code>null</code> okay)
+     * @return sample rate of given tag: rate of closest tag prefix that has one, or default rate
+     */
+    public SampleRate getSampleRate(AssertTag tag) {
+        if (tag == null || mTagSampleRates.isEmpty()) {
+            return mSampleRate;
+        }
+
+        return resolveCached(mResolvedTagSampleRates, mTagSampleRates, tag.getName(), mSampleRate);
+    }
+
+    /**
+     * @return tags with own sample rates
+     */
+    public Map<String, SampleRate> getTagSampleRates() {
+        return mTagSampleRates;
+    }
+
+    /**
+     * Same as {@link #resolve(Map, String, Object)}, remembering result in bounded cache.
+     */
+    private static <T> T resolveCached(ConcurrentMap<String, T> resolved, Map<String, T> values,
+                                       String name, T defaultValue) {
+        T value = resolved.get(name);
+        if (value == null) {
+            value = resolve(values, name, defaultValue);
+            if (resolved.size() < MAX_RESOLVED_TAGS) {
+                resolved.putIfAbsent(name, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @return value of closest prefix of tag name, that has one, or default value
+     */
+    private static <T> T resolve(Map<String, T> values, String name, T defaultValue) {
+        String prefix = name;
+        while (true) {
+            T value = values.get(prefix);
+            if (value != null) {
+                return value;
+            }
+            int separator = prefix.lastIndexOf('.');
+            if (separator == -1) {
+                return defaultValue;
+            }
+            prefix = prefix.substring(0, separator);
+        }
+    }
+
+    /**
+     * @return handler that logs failures and shows them to user
+     */
+    public FailureHandler getHandler() {
+        return mHandler;
+    }
+
+    /**
+     * @return failure rate limiter, or <code>null</code> if failures are not limited
+     */
+    public FailureRateLimiter getRateLimiter() {
+        return mRateLimiter;
+    }
+
+    /**
+     * @return how long failed thread waits for dialog to be dismissed, 0 if it waits forever
+     */
+    public long getDialogTimeoutMillis() {
+        return mDialogTimeoutMillis;
+    }
+
+    /**
+     * @return true if failure should be thrown when dialog wait times out, false to continue
+     */
+    public boolean isThrowOnDialogTimeout() {
+        return mThrowOnDialogTimeout;
+    }
+
+    /**
+     * @return how stack is captured for failures without own throwable
+     */
+    public StackCapture getStackCapture() {
+        return mStackCapture;
+    }
+
+    /**
+     * @return journal failures are persisted to, or <code>null</code> if there is none
+     */
+    public AssertJournal getJournal() {
+        return mJournal;
+    }
+
+    /**
+     * @return dispatcher passing failures to reporter, or <code>null</code> if there is none
+     */
+    public ReportDispatcher getReportDispatcher() {
+        return mReportDispatcher;
+    }
+
+    /**
+     * @return metrics evaluations and failures are counted in, or <code>null</code> if they are
+     * not counted
+     */
+    public AssertMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    /**
+     * @return capture taking diagnostic snapshots of logged failures, or <code>null</code> if
+     * they are not taken
+     */
+    public SnapshotCapture getSnapshotCapture() {
+        return mSnapshotCapture;
+    }
+
+    /**
+     * @return call sites, failures of which are ignored
+     */
+    public IgnoredSites getIgnoredSites() {
+        return mIgnoredSites;
+    }
+
+    /**
+     * @return builder initialized with this configuration
+     */
+    public Builder buildUpon() {
+        return new Builder(this);
+    }
+
+    /**
+     * Builder for {@link AssertConfig}. Mode and handler are required.
+     */
+    public static final class Builder {
+
+        private Asserts.AssertMode mMode;
+        private FailureHandler mHandler;
+        private final Map<String, Asserts.AssertMode> mTagModes = new HashMap<>();
+        private FailureRateLimiter mRateLimiter;
+        private long mDialogTimeoutMillis;
+        private boolean mThrowOnDialogTimeout;
+        private StackCapture mStackCapture = StackCapture.FULL;
+        private AssertJournal mJournal;
+        private ReportDispatcher mReportDispatcher;
+        private AssertMetrics mMetrics;
+        private SnapshotCapture mSnapshotCapture;
+        private IgnoredSites mIgnoredSites;
+        private SampleRate mSampleRate = SampleRate.ALWAYS;
+        private final Map<String, SampleRate> mTagSampleRates = new HashMap<>();
+
+        public Builder() {
+        }
+
+        private Builder(AssertConfig config) {
+            mMode = config.mMode;
+            mHandler = config.mHandler;
+            mTagModes.putAll(config.mTagModes);
+            mRateLimiter = config.mRateLimiter;
+            mDialogTimeoutMillis = config.mDialogTimeoutMillis;
+            mThrowOnDialogTimeout = config.mThrowOnDialogTimeout;
+            mStackCapture = config.mStackCapture;
+            mJournal = config.mJournal;
+            mReportDispatcher = config.mReportDispatcher;
+            mMetrics = config.mMetrics;
+            mSnapshotCapture = config.mSnapshotCapture;
+            mIgnoredSites = config.mIgnoredSites;
+            mSampleRate = config.mSampleRate;
+            mTagSampleRates.putAll(config.mTagSampleRates);
+        }
+
+        public Builder setMode(Asserts.AssertMode mode) {
+            mMode = mode;
+            return this;
+        }
+
+        public Builder setHandler(FailureHandler handler) {
+            mHandler = handler;
+            return this;
+        }
+
+        /**
+         * Set mode for tag and all its children, that don't have own mode.
+         *
+         * @param tag  tag name, e.g. <code>network</code> or <code>network.*</code>
+         * @param mode mode for tag, <code>null</code> to use mode of parent
+         */
+        public Builder setTagMode(String tag, Asserts.AssertMode mode) {
+            put(mTagModes, tag, mode);
+            return this;
+        }
+
+        /**
+         * @param rate default sample rate of sampled assertions, {@link SampleRate#ALWAYS} by
+         *             default
+         */
+        public Builder setSampleRate(SampleRate rate) {
+            if (rate == null) {
+                throw new IllegalArgumentException("Rate can't be null");
+            }
+            mSampleRate = rate;
+            return this;
+        }
+
+        /**
+         * Set sample rate for tag and all its children, that don't have own rate.
+         *
+         * @param tag  tag name, e.g. <code>cache</code> or <code>cache.*</code>
+         * @param rate rate for tag, <code>null</code> to use rate of parent
+         */
+        public Builder setTagSampleRate(String tag, SampleRate rate) {
+            put(mTagSampleRates, tag, rate);
+            return this;
+        }
+
+        private static <T> void put(Map<String, T> values, String tag, T value) {
+            if (tag.endsWith(TAG_WILDCARD)) {
+                tag = tag.substring(0, tag.length() - TAG_WILDCARD.length());
+            }
+            if (value == null) {
+                values.remove(tag);
+            } else {
+                values.put(tag, value);
+            }
+        }
+
+        /**
+         * @param rateLimiter failure rate limiter, <code>null</code> to report every failure
+         */
+        public Builder setRateLimiter(FailureRateLimiter rateLimiter) {
+            mRateLimiter = rateLimiter;
+            return this;
+        }
+
+        /**
+         * Limit how long failed thread waits for {@link Asserts.AssertMode#DIALOG} to be dismissed.
+         * When time is out, dialog entry is dropped and thread either continues or throws.
+         *
+         * @param timeout        max wait, 0 to wait until user decides (default)
+         * @param unit           unit of timeout
+         * @param throwOnTimeout true to throw {@link AssertionError} when time is out, false to
+         *                       continue
+         */
+        public Builder setDialogTimeout(long timeout, TimeUnit unit, boolean throwOnTimeout) {
+            if (timeout < 0) {
+                throw new IllegalArgumentException("Timeout can't be negative");
+            }
+            mDialogTimeoutMillis = unit.toMillis(timeout);
+            mThrowOnDialogTimeout = throwOnTimeout;
+            return this;
+        }
+
+        /**
+         * @param stackCapture how stack is captured for failures without own throwable,
+         *                     {@link StackCapture#FULL} by default
+         */
+        public Builder setStackCapture(StackCapture stackCapture) {
+            if (stackCapture == null) {
+                throw new IllegalArgumentException("Stack capture can't be null");
+            }
+            mStackCapture = stackCapture;
+            return this;
+        }
+
+        /**
+         * @param journal journal to persist logged failures to, <code>null</code> to keep them
+         *                in log only
+         */
+        public Builder setJournal(AssertJournal journal) {
+            mJournal = journal;
+            return this;
+        }
+
+        /**
+         * @param reportDispatcher dispatcher to pass logged failures to reporter,
+         *                         <code>null</code> to not report them
+         */
+        public Builder setReportDispatcher(ReportDispatcher reportDispatcher) {
+            mReportDispatcher = reportDispatcher;
+            return this;
+        }
+
+        /**
+         * @param metrics metrics to count evaluations and failures in, <code>null</code> to not
+         *                count them
+         */
+        public Builder setMetrics(AssertMetrics metrics) {
+            mMetrics = metrics;
+            return this;
+        }
+
+        /**
+         * @param snapshotCapture capture to take diagnostic snapshots of logged failures,
+         *                        <code>null</code> to not take them
+         */
+        public Builder setSnapshotCapture(SnapshotCapture snapshotCapture) {
+            mSnapshotCapture = snapshotCapture;
+            return this;
+        }
+
+        /**
+         * @param ignoredSites call sites to ignore failures of, new empty in-memory set by
+         *                     default
+         */
+        public Builder setIgnoredSites(IgnoredSites ignoredSites) {
+            if (ignoredSites == null) {
+                throw new IllegalArgumentException("Ignored sites can't be null");
+            }
+            mIgnoredSites = ignoredSites;
+            return this;
+        }
+
+        public AssertConfig build() {
+            if (mMode == null) {
+                throw new IllegalStateException("Mode is not set");
+            }
+            if (mHandler == null) {
+                throw new IllegalStateException("Handler is not set");
+            }
+            return new AssertConfig(this);
+        }
+    }
+}
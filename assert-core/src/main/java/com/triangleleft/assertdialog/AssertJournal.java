@@ -0,0 +1,522 @@
+package com.triangleleft.assertdialog;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistent failure journal: memory mapped ring file of fixed size binary records.
+ * Appending doesn't do any I/O on failing thread, OS flushes mapped pages to disk by itself,
+ * so history survives even process kill. Strings and stack frames are encoded right into mapped
+ * slot, without building intermediate strings.
+ * <p>
+ * File is split into equal slots, each failure takes next slot, overwriting the oldest one when
+ * ring is full. Message and stack are truncated to fit slot, at character boundary. Slot layout:
+ * <pre>
+ * long sequence + 1 (0 while slot is being written), int checksum, long timestamp,
+ * long thread id, long call site fingerprint, byte mode code, short length + thread name,
+ * short length + message, short length + stack (all strings in UTF-8)
+ * </pre>
+ * Mapped memory gives no ordering guarantees, so slot is only decoded if checksum of sequence
+ * and rest of slot matches: record torn by crash, or read while it's written, is skipped.
+ * Thread only waits for another one, if ring wraps around while that thread still writes slot
+ * it wants, i.e. when more failures than there are records are appended at once.
+ * <p>
+ * Closed journal ignores appends. Java can't unmap file explicitly, mapping is released when
+ * closed journal is collected.
+ */
+public final class AssertJournal implements Closeable {
+
+    /**
+     * Default number of records, with default slot size it's 512 KiB file.
+     */
+    public static final int DEFAULT_RECORDS = 1024;
+
+    private static final int MAGIC = 0x41534a32; // "ASJ2"
+    private static final int HEADER_SIZE = 16;
+    private static final int SLOT_SIZE = 512;
+    /**
+     * Offset of checksummed part of slot, right after sequence and checksum.
+     */
+    private static final int PAYLOAD_OFFSET = 8 + 4;
+    private static final int MAX_THREAD_NAME = 32;
+    private static final int MAX_STACK_FRAMES = 16;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final MappedByteBuffer mBuffer;
+    private final int mRecords;
+    private final boolean mWithStack;
+    private final AtomicLong mNextSequence;
+    /**
+     * 1 for slots being written right now.
+     */
+    private final AtomicIntegerArray mWriting;
+    private volatile boolean mClosed;
+
+    private AssertJournal(MappedByteBuffer buffer, int records, boolean withStack, long nextSequence) {
+        mBuffer = buffer;
+        mRecords = records;
+        mWithStack = withStack;
+        mNextSequence = new AtomicLong(nextSequence);
+        mWriting = new AtomicIntegerArray(records);
+    }
+
+    /**
+     * Open journal file, creating it if needed. Existing records are kept, if file has the same
+     * layout, otherwise it's cleared. Does disk I/O, so better be called off main thread.
+     *
+     * @param file      journal file
+     * @param records   max number of records kept
+     * @param withStack true to keep top of stack in records
+     * @return opened journal
+     * @throws IOException if file can't be mapped
+     */
+    public static AssertJournal open(File file, int records, boolean withStack) throws IOException {
+        if (records <= 0) {
+            throw new IllegalArgumentException("Records must be positive");
+        }
+        MappedByteBuffer buffer = map(file, HEADER_SIZE + (long) records * SLOT_SIZE,
+                FileChannel.MapMode.READ_WRITE);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != SLOT_SIZE || buffer.getInt(8) != records) {
+            // New file, or file of other layout
+            for (int i = 0; i < records; i++) {
+                buffer.putLong(slotOffset(i), 0);
+            }
+            buffer.putInt(4, SLOT_SIZE);
+            buffer.putInt(8, records);
+            buffer.putInt(0, MAGIC);
+        }
+
+        long nextSequence = 0;
+        for (int i = 0; i < records; i++) {
+            nextSequence = Math.max(nextSequence, buffer.getLong(slotOffset(i)));
+        }
+        return new AssertJournal(buffer, records, withStack, nextSequence);
+    }
+
+    /**
+     * Decode journal file, e.g. pulled from device. File is not modified.
+     *
+     * @param file journal file
+     * @return records, oldest first
+     * @throws IOException if file can't be read, or it's not a journal
+     */
+    public static List<Record> read(File file) throws IOException {
+        MappedByteBuffer buffer = map(file, -1, FileChannel.MapMode.READ_ONLY);
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != SLOT_SIZE) {
+            throw new IOException("Not an assert journal: " + file);
+        }
+        int records = buffer.getInt(8);
+        if (buffer.capacity() < HEADER_SIZE + (long) records * SLOT_SIZE) {
+            throw new IOException("Truncated assert journal: " + file);
+        }
+        return decode(buffer, records);
+    }
+
+    /**
+     * Decode records of this journal. Records that are being written right now are skipped.
+     *
+     * @return records, oldest first
+     */
+    public List<Record> read() {
+        return decode(mBuffer, mRecords);
+    }
+
+    /**
+     * Append failure record, overwriting the oldest one if journal is full.
+     *
+     * @param mode      mode failure was handled in
+     * @param message   failure message (<code>null</code> okay)
+     * @param throwable failure cause, or throwable capturing place of failure
+     * @param callSite  {@link CallSiteFingerprint} of failure place, 0 if unknown
+     */
+    void append(Asserts.AssertMode mode, String message, Throwable throwable, long callSite) {
+        if (mClosed) {
+            return;
+        }
+        long sequence = mNextSequence.getAndIncrement();
+        int index = (int) (sequence % mRecords);
+        // Claim slot, so two threads never write it at once
+        while (!mWriting.compareAndSet(index, 0, 1)) {
+            Thread.yield();
+        }
+        try {
+            write(slotOffset(index), sequence + 1, mode, message, throwable, callSite);
+        } finally {
+            mWriting.set(index, 0);
+        }
+    }
+
+    /**
+     * Stop appending records, and flush ones already appended to disk. Records can still be read.
+     */
+    @Override
+    public void close() {
+        if (!mClosed) {
+            mClosed = true;
+            mBuffer.force();
+        }
+    }
+
+    private void write(int offset, long marker, Asserts.AssertMode mode, String message,
+                       Throwable throwable, long callSite) {
+        Thread thread = Thread.currentThread();
+        int end = offset + SLOT_SIZE;
+        // Own view, so concurrent appends don't share position
+        ByteBuffer slot = mBuffer.duplicate();
+        // Mark slot as being written first, checksum catches the rest
+        slot.putLong(offset, 0);
+        slot.position(offset + PAYLOAD_OFFSET);
+        slot.putLong(System.currentTimeMillis());
+        slot.putLong(thread.getId());
+        slot.putLong(callSite);
+        slot.put(codeOf(mode));
+        // Leave room for length of each string that follows
+        putString(slot, thread.getName(), Math.min(slot.position() + 2 + MAX_THREAD_NAME, end - 4));
+        putString(slot, message, end - 2);
+        int stackLength = slot.position();
+        slot.position(stackLength + 2);
+        if (mWithStack) {
+            putStack(slot, throwable, end);
+        }
+        slot.putShort(stackLength, (short) (slot.position() - stackLength - 2));
+        slot.putInt(offset + 8, checksum(slot, offset, marker));
+        slot.putLong(offset, marker);
+    }
+
+    private static MappedByteBuffer map(File file, long size, FileChannel.MapMode mode) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, mode == FileChannel.MapMode.READ_ONLY ? "r" : "rw");
+        try {
+            if (size < 0) {
+                size = raf.length();
+            } else if (raf.length() != size) {
+                raf.setLength(size);
+            }
+            // Mapping stays valid after file is closed
+            return raf.getChannel().map(mode, 0, size);
+        } finally {
+            raf.close();
+        }
+    }
+
+    private static int slotOffset(int index) {
+        return HEADER_SIZE + index * SLOT_SIZE;
+    }
+
+    private static List<Record> decode(ByteBuffer buffer, int records) {
+        ByteBuffer view = buffer.duplicate();
+        List<Record> result = new ArrayList<>();
+        for (int i = 0; i < records; i++) {
+            int offset = slotOffset(i);
+            long marker = view.getLong(offset);
+            if (marker == 0 || view.getInt(offset + 8) != checksum(view, offset, marker)) {
+                // Empty, being written, or torn
+                continue;
+            }
+            view.position(offset + PAYLOAD_OFFSET);
+            long timestamp = view.getLong();
+            long threadId = view.getLong();
+            long callSite = view.getLong();
+            Asserts.AssertMode mode = modeOf(view.get());
+            String threadName = getString(view);
+            String message = getString(view);
+            String stack = getString(view);
+            if (view.getLong(offset) != marker || mode == null) {
+                // Overwritten while we were reading it, or written by newer version
+                continue;
+            }
+            result.add(new Record(marker - 1, timestamp, threadId, threadName, callSite, mode,
+                    message.isEmpty() ? null : message, stack.isEmpty() ? null : stack));
+        }
+        Collections.sort(result, new Comparator<Record>() {
+            @Override
+            public int compare(Record lhs, Record rhs) {
+                return lhs.mSequence < rhs.mSequence ? -1 : (lhs.mSequence == rhs.mSequence ? 0 : 1);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * FNV-1a of sequence marker and whole payload, so stale payload under new marker doesn't
+     * match either.
+     */
+    private static int checksum(ByteBuffer buffer, int offset, long marker) {
+        int hash = 0x811c9dc5;
+        hash = (hash ^ (int) marker) * 0x01000193;
+        hash = (hash ^ (int) (marker >>> 32)) * 0x01000193;
+        for (int i = offset + PAYLOAD_OFFSET; i < offset + SLOT_SIZE; i++) {
+            hash = (hash ^ (buffer.get(i) & 0xff)) * 0x01000193;
+        }
+        return hash;
+    }
+
+    /**
+     * Modes are stored as explicit codes, so changes of {@link Asserts.AssertMode} don't break
+     * existing journals.
+     */
+    private static byte codeOf(Asserts.AssertMode mode) {
+        switch (mode) {
+            case LOG:
+                return 1;
+            case THROW:
+                return 2;
+            case DIALOG:
+                return 3;
+            case DIALOG_ASYNC:
+                return 4;
+            default:
+                throw new IllegalArgumentException("Unknown mode " + mode);
+        }
+    }
+
+    /**
+     * @return mode of code, or <code>null</code> if it's unknown
+     */
+    private static Asserts.AssertMode modeOf(int code) {
+        switch (code) {
+            case 1:
+                return Asserts.AssertMode.LOG;
+            case 2:
+                return Asserts.AssertMode.THROW;
+            case 3:
+                return Asserts.AssertMode.DIALOG;
+            case 4:
+                return Asserts.AssertMode.DIALOG_ASYNC;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Put length prefixed string, truncated to fit before limit.
+     */
+    private static void putString(ByteBuffer buffer, String value, int limit) {
+        int lengthPosition = buffer.position();
+        buffer.position(lengthPosition + 2);
+        if (value != null) {
+            putUtf8(buffer, value, limit);
+        }
+        buffer.putShort(lengthPosition, (short) (buffer.position() - lengthPosition - 2));
+    }
+
+    /**
+     * Put top of stack, frames formatted as {@link StackTraceElement#toString()} and separated
+     * by new lines, as much as fits before limit.
+     */
+    private static void putStack(ByteBuffer buffer, Throwable throwable, int limit) {
+        StackTraceElement[] stack = throwable.getStackTrace();
+        // Slot is small, don't waste it on assert classes
+        int start = 0;
+        while (start < stack.length && CallSites.isOwnFrame(stack[start].getClassName())) {
+            start++;
+        }
+        for (int i = start; i < stack.length && i < start + MAX_STACK_FRAMES; i++) {
+            if (i > start && !putUtf8(buffer, "\n", limit)) {
+                return;
+            }
+            if (!putFrame(buffer, stack[i], limit)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return false if frame was truncated
+     */
+    private static boolean putFrame(ByteBuffer buffer, StackTraceElement frame, int limit) {
+        if (!putUtf8(buffer, frame.getClassName(), limit)
+                || !putUtf8(buffer, ".", limit)
+                || !putUtf8(buffer, frame.getMethodName(), limit)
+                || !putUtf8(buffer, "(", limit)) {
+            return false;
+        }
+        boolean fits;
+        if (frame.isNativeMethod()) {
+            fits = putUtf8(buffer, "Native Method", limit);
+        } else if (frame.getFileName() == null) {
+            fits = putUtf8(buffer, "Unknown Source", limit);
+        } else {
+            fits = putUtf8(buffer, frame.getFileName(), limit);
+            if (fits && frame.getLineNumber() >= 0) {
+                fits = putUtf8(buffer, ":", limit) && putDecimal(buffer, frame.getLineNumber(), limit);
+            }
+        }
+        return fits && putUtf8(buffer, ")", limit);
+    }
+
+    /**
+     * Put value encoded in UTF-8, only whole characters that fit before limit, so truncated
+     * text never ends with broken one.
+     *
+     * @return false if value was truncated
+     */
+    private static boolean putUtf8(ByteBuffer buffer, String value, int limit) {
+        for (int i = 0; i < value.length(); i++) {
+            int c = value.charAt(i);
+            boolean pair = Character.isHighSurrogate((char) c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1));
+            if (pair) {
+                c = Character.toCodePoint((char) c, value.charAt(i + 1));
+            } else if (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE) {
+                // Same as String.getBytes() does with unpaired surrogate
+                c = '?';
+            }
+            int size = c < 0x80 ? 1 : c < 0x800 ? 2 : c < 0x10000 ? 3 : 4;
+            if (buffer.position() + size > limit) {
+                return false;
+            }
+            switch (size) {
+                case 1:
+                    buffer.put((byte) c);
+                    break;
+                case 2:
+                    buffer.put((byte) (0xc0 | c >> 6));
+                    buffer.put((byte) (0x80 | c & 0x3f));
+                    break;
+                case 3:
+                    buffer.put((byte) (0xe0 | c >> 12));
+                    buffer.put((byte) (0x80 | c >> 6 & 0x3f));
+                    buffer.put((byte) (0x80 | c & 0x3f));
+                    break;
+                default:
+                    buffer.put((byte) (0xf0 | c >> 18));
+                    buffer.put((byte) (0x80 | c >> 12 & 0x3f));
+                    buffer.put((byte) (0x80 | c >> 6 & 0x3f));
+                    buffer.put((byte) (0x80 | c & 0x3f));
+            }
+            if (pair) {
+                i++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Put non negative number in decimal, without formatting it into string.
+     *
+     * @return false if it doesn't fit before limit
+     */
+    private static boolean putDecimal(ByteBuffer buffer, int value, int limit) {
+        int digits = 1;
+        for (int rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        int position = buffer.position();
+        if (position + digits > limit) {
+            return false;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer.put(i, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        buffer.position(position + digits);
+        return true;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length <= 0 || length > buffer.remaining()) {
+            return "";
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * Decoded journal record.
+     */
+    public static final class Record {
+
+        private final long mSequence;
+        private final long mTimestamp;
+        private final long mThreadId;
+        private final String mThreadName;
+        private final long mCallSite;
+        private final Asserts.AssertMode mMode;
+        private final String mMessage;
+        private final String mStack;
+
+        Record(long sequence, long timestamp, long threadId, String threadName, long callSite,
+               Asserts.AssertMode mode, String message, String stack) {
+            mSequence = sequence;
+            mTimestamp = timestamp;
+            mThreadId = threadId;
+            mThreadName = threadName;
+            mCallSite = callSite;
+            mMode = mode;
+            mMessage = message;
+            mStack = stack;
+        }
+
+        /**
+         * @return number of record since journal was created
+         */
+        public long getSequence() {
+            return mSequence;
+        }
+
+        /**
+         * @return time of failure, in {@link System#currentTimeMillis()} units
+         */
+        public long getTimestamp() {
+            return mTimestamp;
+        }
+
+        public long getThreadId() {
+            return mThreadId;
+        }
+
+        /**
+         * @return thread name, possibly truncated
+         */
+        public String getThreadName() {
+            return mThreadName;
+        }
+
+        /**
+         * @return {@link CallSiteFingerprint} of failure place, 0 if it's unknown
+         */
+        public long getCallSite() {
+            return mCallSite;
+        }
+
+        /**
+         * @return mode failure was handled in
+         */
+        public Asserts.AssertMode getMode() {
+            return mMode;
+        }
+
+        /**
+         * @return failure message, possibly truncated, or <code>null</code> if there was none
+         */
+        public String getMessage() {
+            return mMessage;
+        }
+
+        /**
+         * @return top of stack, possibly truncated, or <code>null</code> if it wasn't kept
+         */
+        public String getStack() {
+            return mStack;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + mSequence + " " + mTimestamp + " [" + mThreadName + "] " + mMode + " " + mMessage;
+        }
+    }
+}
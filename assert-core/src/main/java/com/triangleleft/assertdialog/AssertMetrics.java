@@ -0,0 +1,210 @@
+package com.triangleleft.assertdialog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts evaluations and failures of assertions per call site, to find asserts that run in hot
+ * loops or fail most.
+ * <p>
+ * Finding call site takes stack walk, so evaluations are sampled: each thread resolves call site
+ * of every Nth evaluation only, and adds N to its counter. Evaluation counts are estimates, good
+ * enough for hot asserts, while failures are counted exactly. Counters are striped, so threads
+ * don't contend on them.
+ */
+public final class AssertMetrics {
+
+    /**
+     * Sites over that limit are not tracked, so metrics can't grow unbounded.
+     */
+    private static final int MAX_SITES = 1024;
+
+    private final int mSampleInterval;
+    private final ConcurrentMap<StackTraceElement, Site> mSites = new ConcurrentHashMap<>();
+    private final ThreadLocal<int[]> mCountdown = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            // Start threads at different phase, so they don't sample same iterations
+            return new int[]{(int) (Thread.currentThread().getId() % mSampleInterval)};
+        }
+    };
+    private ScheduledExecutorService mDumpExecutor;
+
+    /**
+     * @param sampleInterval resolve call site of every Nth evaluation, 1 to resolve all of them
+     */
+    public AssertMetrics(int sampleInterval) {
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("Sample interval must be positive");
+        }
+        mSampleInterval = sampleInterval;
+    }
+
+    /**
+     * Called for each evaluated assertion, on pass path.
+     */
+    void onEvaluated() {
+        int[] countdown = mCountdown.get();
+        if (--countdown[0] > 0) {
+            return;
+        }
+        countdown[0] = mSampleInterval;
+        Site site = site(CallSites.of(new Throwable()));
+        if (site != null) {
+            site.mEvaluations.add(mSampleInterval);
+        }
+    }
+
+    /**
+     * Called for each failure.
+     *
+     * @param callSite call site of failure (<code>null</code> okay)
+     */
+    void onFailed(StackTraceElement callSite) {
+        Site site = site(callSite);
+        if (site != null) {
+            site.mFailures.add(1);
+        }
+    }
+
+    private Site site(StackTraceElement callSite) {
+        if (callSite == null) {
+            return null;
+        }
+        Site site = mSites.get(callSite);
+        if (site == null) {
+            if (mSites.size() >= MAX_SITES) {
+                return null;
+            }
+            Site created = new Site();
+            site = mSites.putIfAbsent(callSite, created);
+            if (site == null) {
+                site = created;
+            }
+        }
+        return site;
+    }
+
+    /**
+     * @return current counts of all sites, most evaluated first
+     */
+    public List<SiteSnapshot> snapshot() {
+        List<SiteSnapshot> snapshot = new ArrayList<>(mSites.size());
+        for (Map.Entry<StackTraceElement, Site> entry : mSites.entrySet()) {
+            Site site = entry.getValue();
+            snapshot.add(new SiteSnapshot(entry.getKey(), site.mEvaluations.sum(), site.mFailures.sum()));
+        }
+        Collections.sort(snapshot, new Comparator<SiteSnapshot>() {
+            @Override
+            public int compare(SiteSnapshot lhs, SiteSnapshot rhs) {
+                long diff = rhs.mEvaluations - lhs.mEvaluations;
+                if (diff == 0) {
+                    diff = rhs.mFailures - lhs.mFailures;
+                }
+                return diff < 0 ? -1 : (diff == 0 ? 0 : 1);
+            }
+        });
+        return snapshot;
+    }
+
+    /**
+     * Periodically pass snapshot to listener, on background thread. Replaces previous dump.
+     *
+     * @param period   time between dumps
+     * @param listener receives snapshots
+     */
+    public synchronized void startDump(long period, TimeUnit unit, final DumpListener listener) {
+        stopDump();
+        mDumpExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "AssertMetrics");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            }
+        });
+        mDumpExecutor.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                listener.onDump(snapshot());
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * Stop periodic dump, if it was started.
+     */
+    public synchronized void stopDump() {
+        if (mDumpExecutor != null) {
+            mDumpExecutor.shutdownNow();
+            mDumpExecutor = null;
+        }
+    }
+
+    /**
+     * Receives periodic snapshots.
+     */
+    public interface DumpListener {
+        /**
+         * @param snapshot current counts of all sites, most evaluated first
+         */
+        void onDump(List<SiteSnapshot> snapshot);
+    }
+
+    /**
+     * Counts of single call site at some moment.
+     */
+    public static final class SiteSnapshot {
+
+        private final StackTraceElement mSite;
+        private final long mEvaluations;
+        private final long mFailures;
+
+        SiteSnapshot(StackTraceElement site, long evaluations, long failures) {
+            mSite = site;
+            mEvaluations = evaluations;
+            mFailures = failures;
+        }
+
+        /**
+         * @return frame that called assertion
+         */
+        public StackTraceElement getSite() {
+            return mSite;
+        }
+
+        /**
+         * @return estimated number of evaluations
+         */
+        public long getEvaluations() {
+            return mEvaluations;
+        }
+
+        /**
+         * @return exact number of failures
+         */
+        public long getFailures() {
+            return mFailures;
+        }
+
+        @Override
+        public String toString() {
+            return mSite + ": ~" + mEvaluations + " evaluations, " + mFailures + " failures";
+        }
+    }
+
+    private static final class Site {
+        final StripedCounter mEvaluations = new StripedCounter();
+        final StripedCounter mFailures = new StripedCounter();
+    }
+}
@@ -0,0 +1,53 @@
+package com.triangleleft.assertdialog;
+
+/**
+ * Identifies subsystem that assertion belongs to, e.g. <code>network.http</code>.
+ * Tags are hierarchical, separated by dots: mode set for <code>network</code> applies to
+ * <code>network.http</code> too, unless it has its own mode. See
+ * {@link AssertConfig.Builder#setTagMode(String, Asserts.AssertMode)}.
+ * Keep tags in constants, they are meant to be created once.
+ */
+public final class AssertTag {
+
+    private final String mName;
+
+    private AssertTag(String name) {
+        mName = name;
+    }
+
+    /**
+     * @param name tag name, dot separated
+     */
+    public static AssertTag of(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Tag name can't be empty");
+        }
+        return new AssertTag(name);
+    }
+
+    /**
+     * @return tag named after given class, so its mode can be set per package
+     */
+    public static AssertTag of(Class<?> cls) {
+        return of(cls.getName());
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof AssertTag && mName.equals(((AssertTag) o).mName));
+    }
+
+    @Override
+    public int hashCode() {
+        return mName.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return mName;
+    }
+}
@@ -0,0 +1,3743 @@
+package com.triangleleft.assertdialog;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Assertions, failure of which is handled according to {@link AssertMode}.
+ * Based on JUnit Assert class.
+ * As it's not possible to override static methods, I had to simple reuse source code.
+ * <p>
+ * This class doesn't depend on android, so same asserts can be used in plain java modules.
+ * What "log" and "dialog" mean is defined by {@link FailureHandler} passed to
+ * {@link #init(AssertMode, FailureHandler)}.
+ */
+public class Asserts {
+
+    /**
+     * Elements rendered on each side of first differing one.
+     */
+    private static final int DIFF_CONTEXT = 3;
+
+    private static final AtomicReference<AssertConfig> sConfig = new AtomicReference<>();
+
+    protected Asserts() {
+        // Static use only
+    }
+
+    /**
+     * Init asserts.
+     *
+     * @param mode    work mode
+     * @param handler handler that logs failures and shows them to user
+     */
+    public static void init(AssertMode mode, FailureHandler handler) {
+        setConfig(new AssertConfig.Builder()
+                .setMode(mode)
+                .setHandler(handler)
+                .build());
+    }
+
+    /**
+     * Replace whole configuration. Can be called at any time from any thread, failures that are
+     * already being handled keep using previous configuration.
+     *
+     * @param config new configuration
+     */
+    public static void setConfig(AssertConfig config) {
+        if (config == null) {
+            throw new IllegalArgumentException("Config can't be null");
+        }
+        sConfig.set(config);
+    }
+
+    /**
+     * @return current configuration, or <code>null</code> if asserts were not initialized
+     */
+    public static AssertConfig getConfig() {
+        return sConfig.get();
+    }
+
+    /**
+     * Change work mode at runtime, keeping rest of configuration. Can be called from any thread,
+     * e.g. to turn off blocking dialogs during performance test run.
+     *
+     * @param mode new work mode
+     */
+    public static void setMode(final AssertMode mode) {
+        updateConfig(new ConfigUpdate() {
+            @Override
+            public void apply(AssertConfig.Builder builder) {
+                builder.setMode(mode);
+            }
+        });
+    }
+
+    /**
+     * Change mode of tag at runtime, keeping rest of configuration.
+     *
+     * @param tag  tag name, e.g. <code>network</code> or <code>network.*</code>
+     * @param mode mode for tag, <code>null</code> to use mode of parent
+     * @see AssertConfig.Builder#setTagMode(String, AssertMode)
+     */
+    public static void setTagMode(final String tag, final AssertMode mode) {
+        updateConfig(new ConfigUpdate() {
+            @Override
+            public void apply(AssertConfig.Builder builder) {
+                builder.setTagMode(tag, mode);
+            }
+        });
+    }
+
+    /**
+     * Change failure rate limiter at runtime, keeping rest of configuration.
+     *
+     * @param rateLimiter failure rate limiter, <code>null</code> to report every failure
+     */
+    public static void setRateLimiter(final FailureRateLimiter rateLimiter) {
+        updateConfig(new ConfigUpdate() {
+            @Override
+            public void apply(AssertConfig.Builder builder) {
+                builder.setRateLimiter(rateLimiter);
+            }
+        });
+    }
+
+    /**
+     * Change dialog wait limit at runtime, keeping rest of configuration.
+     *
+     * @param timeout        max wait, 0 to wait until user decides
+     * @param unit           unit of timeout
+     * @param throwOnTimeout true to throw when time is out, false to continue
+     * @see AssertConfig.Builder#setDialogTimeout(long, TimeUnit, boolean)
+     */
+    public static void setDialogTimeout(final long timeout, final TimeUnit unit, final boolean throwOnTimeout) {
+        updateConfig(new ConfigUpdate() {
+            @Override
+            public void apply(AssertConfig.Builder builder) {
+                builder.setDialogTimeout(timeout, unit, throwOnTimeout);
+            }
+        });
+    }
+
+    /**
+     * Change stack capture policy at runtime, keeping rest of configuration.
+     *
+     * @param stackCapture how stack is captured for failures without own throwable
+     */
+    public static void setStackCapture(final StackCapture stackCapture) {
+        updateConfig(new ConfigUpdate() {
+            @Override
+            public void apply(AssertConfig.Builder builder) {
+                builder.setStackCapture(stackCapture);
+            }
+        });
+    }
+
+    /**
+     * Change failure journal at runtime, keeping rest of configuration.
+     *
+     * @param journal journal to persist logged failures to, <code>null</code> to keep them in log
+     *                only
+     */
+    public static void setJournal(final AssertJournal journal) {
+        updateConfig(new ConfigUpdate() {
+            @Override
+            public void apply(AssertConfig.Builder builder) {
+                builder.setJournal(journal);
+            }
+        });
+    }
+
+    /**
+     * Change failure report dispatcher at runtime, keeping rest of configuration.
+     * Previous dispatcher is not closed.
+     *
+     * @param reportDispatcher dispatcher to pass logged failures to reporter, <code>null</code>
+     *                         to not report them
+     */
+    public static void setReportDispatcher(final ReportDispatcher reportDispatcher) {
+        updateConfig(new ConfigUpdate() {
+            @Override
+            public void apply(AssertConfig.Builder builder) {
+                builder.setReportDispatcher(reportDispatcher);
+            }
+        });
+    }
+
+    /**
+     * Change assertion metrics at runtime, keeping rest of configuration.
+     *
+     * @param metrics metrics to count evaluations and failures in, <code>null</code> to not count
+     */
+    public static void setMetrics(final AssertMetrics metrics) {
+        updateConfig(new ConfigUpdate() {
+            @Override
+            public void apply(AssertConfig.Builder builder) {
+                builder.setMetrics(metrics);
+            }
+        });
+    }
+
+    /**
+     * Change snapshot capture at runtime, keeping rest of configuration.
+     *
+     * @param snapshotCapture capture to take diagnostic snapshots of logged failures,
+     *                        <code>null</code> to not take them
+     */
+    public static void setSnapshotCapture(final SnapshotCapture snapshotCapture) {
+        updateConfig(new ConfigUpdate() {
+            @Override
+            public void apply(AssertConfig.Builder builder) {
+                builder.setSnapshotCapture(snapshotCapture);
+            }
+        });
+    }
+
+    /**
+     * Ignore further failures of assertion, same as "Ignore always" dialog button. Failures of
+     * ignored assertion return right away, without logging, dialog or throwing.
+     *
+     * @param callSite {@link CallSiteFingerprint} of assertion, e.g. from
+     *                 {@link AssertJournal.Record#getCallSite()} or {@link FailureReport#getFingerprint()}
+     */
+    public static void ignore(long callSite) {
+        requireConfig().getIgnoredSites().add(callSite);
+    }
+
+    /**
+     * Ignore further failures of assertion, same as "Ignore always" dialog button.
+     *
+     * @param site frame that called assertion, e.g. from {@link FailureReport#getCallSite()}
+     * @deprecated use {@link #ignore(long)} with fingerprint, e.g. from
+     * {@link FailureReport#getFingerprint()}
+     */
+    @Deprecated
+    public static void ignore(StackTraceElement site) {
+        ignore(CallSiteFingerprint.of(site));
+    }
+
+    /**
+     * Change default sample rate of sampled assertions at runtime, keeping rest of configuration.
+     *
+     * @param rate default sample rate
+     */
+    public static void setSampleRate(final SampleRate rate) {
+        updateConfig(new ConfigUpdate() {
+            @Override
+            public void apply(AssertConfig.Builder builder) {
+                builder.setSampleRate(rate);
+            }
+        });
+    }
+
+    /**
+     * Change sample rate of tag at runtime, keeping rest of configuration.
+     *
+     * @param tag  tag name, e.g. <code>cache</code> or <code>cache.*</code>
+     * @param rate rate for tag, <code>null</code> to use rate of parent
+     */
+    public static void setTagSampleRate(final String tag, final SampleRate rate) {
+        updateConfig(new ConfigUpdate() {
+            @Override
+            public void apply(AssertConfig.Builder builder) {
+                builder.setTagSampleRate(tag, rate);
+            }
+        });
+    }
+
+    private interface ConfigUpdate {
+        void apply(AssertConfig.Builder builder);
+    }
+
+    /**
+     * Apply update to current configuration, retrying if it was replaced concurrently.
+     */
+    private static void updateConfig(ConfigUpdate update) {
+        while (true) {
+            AssertConfig current = requireConfig();
+            AssertConfig.Builder builder = current.buildUpon();
+            update.apply(builder);
+            if (sConfig.compareAndSet(current, builder.build())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Called once for every evaluated assertion, before its condition is checked.
+     */
+    static void evaluated() {
+        AssertConfig config = sConfig.get();
+        if (config != null) {
+            AssertMetrics metrics = config.getMetrics();
+            if (metrics != null) {
+                metrics.onEvaluated();
+            }
+        }
+    }
+
+    private static AssertConfig requireConfig() {
+        AssertConfig config = sConfig.get();
+        if (config == null) {
+            throw new IllegalStateException("You have to call init() first");
+        }
+        return config;
+    }
+
+    /**
+     * Checked by failed assertion before its message is built, so ignored failure doesn't format
+     * values or call message supplier. Takes throwable only if some site is ignored.
+     *
+     * @return true if failures of assertion, that calls this, are ignored
+     */
+    static boolean isIgnored() {
+        IgnoredSites ignoredSites = requireConfig().getIgnoredSites();
+        return !ignoredSites.isEmpty() && ignoredSites.contains(CallSiteFingerprint.hash(new Throwable()));
+    }
+
+    /**
+     * Asserts that a condition is true. If it isn't it throws an
+     * {@link AssertionError} with the given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param condition condition to be checked
+     */
+    public static void assertTrue(String message, boolean condition) {
+        evaluated();
+        if (!condition) {
+            fail(message);
+        }
+    }
+
+    /**
+     * Asserts that a condition is true. If it isn't it throws an
+     * {@link AssertionError} with the given message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param condition condition to be checked
+     */
+    public static void assertTrue(MessageSupplier message, boolean condition) {
+        evaluated();
+        if (!condition && !isIgnored()) {
+            fail(messageOf(message));
+        }
+    }
+
+    /**
+     * Asserts that a condition is true. If it isn't it throws an
+     * {@link AssertionError} with the given message.
+     *
+     * @param condition condition to be checked
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg template argument
+     */
+    public static void assertTrue(boolean condition, String template, Object arg) {
+        evaluated();
+        if (!condition && !isIgnored()) {
+            fail(MessageFormatter.format(template, new Object[]{arg}));
+        }
+    }
+
+    /**
+     * Asserts that a condition is true. If it isn't it throws an
+     * {@link AssertionError} with the given message.
+     *
+     * @param condition condition to be checked
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     */
+    public static void assertTrue(boolean condition, String template, Object arg1, Object arg2) {
+        evaluated();
+        if (!condition && !isIgnored()) {
+            fail(MessageFormatter.format(template, new Object[]{arg1, arg2}));
+        }
+    }
+
+    /**
+     * Asserts that a condition is true. If it isn't it throws an
+     * {@link AssertionError} with the given message.
+     *
+     * @param condition condition to be checked
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     * @param arg3 template argument
+     */
+    public static void assertTrue(boolean condition, String template, Object arg1, Object arg2, Object arg3) {
+        evaluated();
+        if (!condition && !isIgnored()) {
+            fail(MessageFormatter.format(template, new Object[]{arg1, arg2, arg3}));
+        }
+    }
+
+    /**
+     * Asserts that a condition is true. If it isn't it throws an
+     * {@link AssertionError} with the given message.
+     * <p>
+     * Prefer overloads with fixed number of arguments on hot paths, varargs array is allocated
+     * even if assertion passes.
+     *
+     * @param condition condition to be checked
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param args template arguments
+     */
+    public static void assertTrue(boolean condition, String template, Object... args) {
+        evaluated();
+        if (!condition && !isIgnored()) {
+            fail(MessageFormatter.format(template, args));
+        }
+    }
+
+    /**
+     * Asserts that a condition is true. If it isn't it throws an
+     * {@link AssertionError} without a message.
+     *
+     * @param condition condition to be checked
+     */
+    public static void assertTrue(boolean condition) {
+        assertTrue((String) null, condition);
+    }
+
+    /**
+     * Asserts that a condition is false. If it isn't it throws an
+     * {@link AssertionError} with the given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param condition condition to be checked
+     */
+    public static void assertFalse(String message, boolean condition) {
+        assertTrue(message, !condition);
+    }
+
+    /**
+     * Asserts that a condition is false. If it isn't it throws an
+     * {@link AssertionError} with the given message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param condition condition to be checked
+     */
+    public static void assertFalse(MessageSupplier message, boolean condition) {
+        evaluated();
+        if (condition && !isIgnored()) {
+            fail(messageOf(message));
+        }
+    }
+
+    /**
+     * Asserts that a condition is false. If it isn't it throws an
+     * {@link AssertionError} with the given message.
+     *
+     * @param condition condition to be checked
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg template argument
+     */
+    public static void assertFalse(boolean condition, String template, Object arg) {
+        evaluated();
+        if (condition && !isIgnored()) {
+            fail(MessageFormatter.format(template, new Object[]{arg}));
+        }
+    }
+
+    /**
+     * Asserts that a condition is false. If it isn't it throws an
+     * {@link AssertionError} with the given message.
+     *
+     * @param condition condition to be checked
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     */
+    public static void assertFalse(boolean condition, String template, Object arg1, Object arg2) {
+        evaluated();
+        if (condition && !isIgnored()) {
+            fail(MessageFormatter.format(template, new Object[]{arg1, arg2}));
+        }
+    }
+
+    /**
+     * Asserts that a condition is false. If it isn't it throws an
+     * {@link AssertionError} with the given message.
+     *
+     * @param condition condition to be checked
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     * @param arg3 template argument
+     */
+    public static void assertFalse(boolean condition, String template, Object arg1, Object arg2, Object arg3) {
+        evaluated();
+        if (condition && !isIgnored()) {
+            fail(MessageFormatter.format(template, new Object[]{arg1, arg2, arg3}));
+        }
+    }
+
+    /**
+     * Asserts that a condition is false. If it isn't it throws an
+     * {@link AssertionError} with the given message.
+     * <p>
+     * Prefer overloads with fixed number of arguments on hot paths, varargs array is allocated
+     * even if assertion passes.
+     *
+     * @param condition condition to be checked
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param args template arguments
+     */
+    public static void assertFalse(boolean condition, String template, Object... args) {
+        evaluated();
+        if (condition && !isIgnored()) {
+            fail(MessageFormatter.format(template, args));
+        }
+    }
+
+    /**
+     * Asserts that a condition is false. If it isn't it throws an
+     * {@link AssertionError} without a message.
+     *
+     * @param condition condition to be checked
+     */
+    public static void assertFalse(boolean condition) {
+        assertFalse((String) null, condition);
+    }
+
+    /**
+     * Asserts that two objects are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message. If
+     * <code>expected</code> and <code>actual</code> are <code>null</code>,
+     * they are considered equal.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expected expected value
+     * @param actual actual value
+     */
+    public static void assertEquals(String message, Object expected,
+                                    Object actual) {
+        evaluated();
+        if (equalsRegardingNull(expected, actual) || isIgnored()) {
+            return;
+        }
+
+        failNotEquals(message, expected, actual);
+    }
+
+    /**
+     * Asserts that two objects are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message. If
+     * <code>expected</code> and <code>actual</code> are <code>null</code>,
+     * they are considered equal.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param expected expected value
+     * @param actual actual value
+     */
+    public static void assertEquals(MessageSupplier message, Object expected, Object actual) {
+        evaluated();
+        if (!equalsRegardingNull(expected, actual) && !isIgnored()) {
+            failNotEquals(messageOf(message), null, expected, actual);
+        }
+    }
+
+    /**
+     * Asserts that two objects are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message. If
+     * <code>expected</code> and <code>actual</code> are <code>null</code>,
+     * they are considered equal.
+     * <p>
+     * There are no fixed arity overloads, as they would be ambiguous with ones for longs, so
+     * varargs array is allocated even if assertion passes.
+     *
+     * @param expected expected value
+     * @param actual actual value
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param args template arguments
+     */
+    public static void assertEquals(Object expected, Object actual, String template, Object... args) {
+        evaluated();
+        if (!equalsRegardingNull(expected, actual) && !isIgnored()) {
+            failNotEquals(template, args, expected, actual);
+        }
+    }
+
+    private static boolean equalsRegardingNull(Object expected, Object actual) {
+        if (expected == null) {
+            return actual == null;
+        }
+
+        return isEquals(expected, actual);
+    }
+
+    private static boolean isEquals(Object expected, Object actual) {
+        return expected.equals(actual);
+    }
+
+    /**
+     * Asserts that two objects are equal. If they are not, an
+     * {@link AssertionError} without a message is thrown. If
+     * <code>expected</code> and <code>actual</code> are <code>null</code>,
+     * they are considered equal.
+     *
+     * @param expected expected value
+     * @param actual the value to check against <code>expected</code>
+     */
+    public static void assertEquals(Object expected, Object actual) {
+        assertEquals((String) null, expected, actual);
+    }
+
+    /**
+     * Asserts that two objects are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message. If
+     * <code>unexpected</code> and <code>actual</code> are <code>null</code>,
+     * they are considered equal.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(String message, Object unexpected,
+                                       Object actual) {
+        evaluated();
+        if (equalsRegardingNull(unexpected, actual) && !isIgnored()) {
+            failEquals(message, actual);
+        }
+    }
+
+    /**
+     * Asserts that two objects are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message. If
+     * <code>unexpected</code> and <code>actual</code> are <code>null</code>,
+     * they are considered equal.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(MessageSupplier message, Object unexpected, Object actual) {
+        evaluated();
+        if (equalsRegardingNull(unexpected, actual) && !isIgnored()) {
+            failEquals(messageOf(message), null, actual);
+        }
+    }
+
+    /**
+     * Asserts that two objects are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message. If
+     * <code>unexpected</code> and <code>actual</code> are <code>null</code>,
+     * they are considered equal.
+     * <p>
+     * There are no fixed arity overloads, as they would be ambiguous with ones for longs, so
+     * varargs array is allocated even if assertion passes.
+     *
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param args template arguments
+     */
+    public static void assertNotEquals(Object unexpected, Object actual, String template, Object... args) {
+        evaluated();
+        if (equalsRegardingNull(unexpected, actual) && !isIgnored()) {
+            failEquals(template, args, actual);
+        }
+    }
+
+    /**
+     * Asserts that two objects are <b>not</b> equals. If they are, an
+     * {@link AssertionError} without a message is thrown. If
+     * <code>unexpected</code> and <code>actual</code> are <code>null</code>,
+     * they are considered equal.
+     *
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(Object unexpected, Object actual) {
+        assertNotEquals((String) null, unexpected, actual);
+    }
+
+    private static void failEquals(String message, Object actual) {
+        failEquals(message, null, actual);
+    }
+
+    private static void failEquals(String template, Object[] args, Object actual) {
+        StringBuilder builder = MessageFormatter.acquire();
+        if (template != null) {
+            MessageFormatter.appendMessage(builder, template, args);
+            builder.append(". ");
+        } else {
+            builder.append("Values should be different. ");
+        }
+
+        builder.append("Actual: ").append(actual);
+        fail(MessageFormatter.release(builder));
+    }
+
+    /**
+     * Asserts that two longs are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(String message, long unexpected, long actual) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failEquals(message, Long.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two longs are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(MessageSupplier message, long unexpected, long actual) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failEquals(messageOf(message), null, Long.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two longs are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg template argument
+     */
+    public static void assertNotEquals(long unexpected, long actual, String template, Object arg) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failEquals(template, new Object[]{arg}, Long.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two longs are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     */
+    public static void assertNotEquals(long unexpected, long actual, String template, Object arg1, Object arg2) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failEquals(template, new Object[]{arg1, arg2}, Long.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two longs are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     * @param arg3 template argument
+     */
+    public static void assertNotEquals(long unexpected, long actual, String template, Object arg1, Object arg2, Object arg3) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failEquals(template, new Object[]{arg1, arg2, arg3}, Long.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two longs are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message.
+     * <p>
+     * Prefer overloads with fixed number of arguments on hot paths, varargs array is allocated
+     * even if assertion passes.
+     *
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param args template arguments
+     */
+    public static void assertNotEquals(long unexpected, long actual, String template, Object... args) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failEquals(template, args, Long.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two longs are <b>not</b> equals. If they are, an
+     * {@link AssertionError} without a message is thrown.
+     *
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(long unexpected, long actual) {
+        assertNotEquals((String) null, unexpected, actual);
+    }
+
+    /**
+     * Asserts that two doubles are <b>not</b> equal to within a positive delta.
+     * If they are, an {@link AssertionError} is thrown with the given
+     * message. If the unexpected value is infinity then the delta value is
+     * ignored. NaNs are considered equal:
+     * <code>assertNotEquals(Double.NaN, Double.NaN, *)</code> fails
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param unexpected unexpected value
+     * @param actual the value to check against <code>unexpected</code>
+     * @param delta the maximum delta between <code>unexpected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     */
+    public static void assertNotEquals(String message, double unexpected,
+                                       double actual, double delta) {
+        evaluated();
+        if (!doubleIsDifferent(unexpected, actual, delta) && !isIgnored()) {
+            failEquals(message, Double.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two doubles are <b>not</b> equal to within a positive delta.
+     * If they are, an {@link AssertionError} is thrown with the given
+     * message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param unexpected unexpected value
+     * @param actual the value to check against <code>unexpected</code>
+     * @param delta the maximum delta between <code>unexpected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     */
+    public static void assertNotEquals(MessageSupplier message, double unexpected, double actual, double delta) {
+        evaluated();
+        if (!doubleIsDifferent(unexpected, actual, delta) && !isIgnored()) {
+            failEquals(messageOf(message), null, Double.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two doubles are <b>not</b> equal to within a positive delta.
+     * If they are, an {@link AssertionError} is thrown with the given
+     * message.
+     *
+     * @param unexpected unexpected value
+     * @param actual the value to check against <code>unexpected</code>
+     * @param delta the maximum delta between <code>unexpected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg template argument
+     */
+    public static void assertNotEquals(double unexpected, double actual, double delta, String template, Object arg) {
+        evaluated();
+        if (!doubleIsDifferent(unexpected, actual, delta) && !isIgnored()) {
+            failEquals(template, new Object[]{arg}, Double.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two doubles are <b>not</b> equal to within a positive delta.
+     * If they are, an {@link AssertionError} is thrown with the given
+     * message.
+     *
+     * @param unexpected unexpected value
+     * @param actual the value to check against <code>unexpected</code>
+     * @param delta the maximum delta between <code>unexpected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     */
+    public static void assertNotEquals(double unexpected, double actual, double delta, String template, Object arg1, Object arg2) {
+        evaluated();
+        if (!doubleIsDifferent(unexpected, actual, delta) && !isIgnored()) {
+            failEquals(template, new Object[]{arg1, arg2}, Double.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two doubles are <b>not</b> equal to within a positive delta.
+     * If they are, an {@link AssertionError} is thrown with the given
+     * message.
+     *
+     * @param unexpected unexpected value
+     * @param actual the value to check against <code>unexpected</code>
+     * @param delta the maximum delta between <code>unexpected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     * @param arg3 template argument
+     */
+    public static void assertNotEquals(double unexpected, double actual, double delta, String template, Object arg1, Object arg2, Object arg3) {
+        evaluated();
+        if (!doubleIsDifferent(unexpected, actual, delta) && !isIgnored()) {
+            failEquals(template, new Object[]{arg1, arg2, arg3}, Double.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two doubles are <b>not</b> equal to within a positive delta.
+     * If they are, an {@link AssertionError} is thrown with the given
+     * message.
+     * <p>
+     * Prefer overloads with fixed number of arguments on hot paths, varargs array is allocated
+     * even if assertion passes.
+     *
+     * @param unexpected unexpected value
+     * @param actual the value to check against <code>unexpected</code>
+     * @param delta the maximum delta between <code>unexpected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param args template arguments
+     */
+    public static void assertNotEquals(double unexpected, double actual, double delta, String template, Object... args) {
+        evaluated();
+        if (!doubleIsDifferent(unexpected, actual, delta) && !isIgnored()) {
+            failEquals(template, args, Double.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two doubles are <b>not</b> equal to within a positive delta.
+     * If they are, an {@link AssertionError} is thrown. If the unexpected
+     * value is infinity then the delta value is ignored.NaNs are considered
+     * equal: <code>assertNotEquals(Double.NaN, Double.NaN, *)</code> fails
+     *
+     * @param unexpected unexpected value
+     * @param actual the value to check against <code>unexpected</code>
+     * @param delta the maximum delta between <code>unexpected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     */
+    public static void assertNotEquals(double unexpected, double actual, double delta) {
+        assertNotEquals((String) null, unexpected, actual, delta);
+    }
+
+    /**
+     * Asserts that two floats are <b>not</b> equal to within a positive delta.
+     * If they are, an {@link AssertionError} is thrown. If the unexpected
+     * value is infinity then the delta value is ignored.NaNs are considered
+     * equal: <code>assertNotEquals(Float.NaN, Float.NaN, *)</code> fails
+     *
+     * @param unexpected unexpected value
+     * @param actual the value to check against <code>unexpected</code>
+     * @param delta the maximum delta between <code>unexpected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     */
+    public static void assertNotEquals(float unexpected, float actual, float delta) {
+        assertNotEquals((String) null, unexpected, actual, delta);
+    }
+
+    /**
+     * Asserts that two doubles are equal to within a positive delta.
+     * If they are not, an {@link AssertionError} is thrown with the given
+     * message. If the expected value is infinity then the delta value is
+     * ignored. NaNs are considered equal:
+     * <code>assertEquals(Double.NaN, Double.NaN, *)</code> passes
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expected expected value
+     * @param actual the value to check against <code>expected</code>
+     * @param delta the maximum delta between <code>expected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     */
+    public static void assertEquals(String message, double expected,
+                                    double actual, double delta) {
+        evaluated();
+        if (doubleIsDifferent(expected, actual, delta) && !isIgnored()) {
+            failNotEquals(message, Double.valueOf(expected), Double.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two doubles are equal to within a positive delta.
+     * If they are not, an {@link AssertionError} is thrown with the given
+     * message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param expected expected value
+     * @param actual the value to check against <code>expected</code>
+     * @param delta the maximum delta between <code>expected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     */
+    public static void assertEquals(MessageSupplier message, double expected, double actual, double delta) {
+        evaluated();
+        if (doubleIsDifferent(expected, actual, delta) && !isIgnored()) {
+            failNotEquals(messageOf(message), null, Double.valueOf(expected), Double.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two doubles are equal to within a positive delta.
+     * If they are not, an {@link AssertionError} is thrown with the given
+     * message.
+     *
+     * @param expected expected value
+     * @param actual the value to check against <code>expected</code>
+     * @param delta the maximum delta between <code>expected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg template argument
+     */
+    public static void assertEquals(double expected, double actual, double delta, String template, Object arg) {
+        evaluated();
+        if (doubleIsDifferent(expected, actual, delta) && !isIgnored()) {
+            failNotEquals(template, new Object[]{arg}, Double.valueOf(expected), Double.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two doubles are equal to within a positive delta.
+     * If they are not, an {@link AssertionError} is thrown with the given
+     * message.
+     *
+     * @param expected expected value
+     * @param actual the value to check against <code>expected</code>
+     * @param delta the maximum delta between <code>expected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     */
+    public static void assertEquals(double expected, double actual, double delta, String template, Object arg1, Object arg2) {
+        evaluated();
+        if (doubleIsDifferent(expected, actual, delta) && !isIgnored()) {
+            failNotEquals(template, new Object[]{arg1, arg2}, Double.valueOf(expected), Double.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two doubles are equal to within a positive delta.
+     * If they are not, an {@link AssertionError} is thrown with the given
+     * message.
+     *
+     * @param expected expected value
+     * @param actual the value to check against <code>expected</code>
+     * @param delta the maximum delta between <code>expected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     * @param arg3 template argument
+     */
+    public static void assertEquals(double expected, double actual, double delta, String template, Object arg1, Object arg2, Object arg3) {
+        evaluated();
+        if (doubleIsDifferent(expected, actual, delta) && !isIgnored()) {
+            failNotEquals(template, new Object[]{arg1, arg2, arg3}, Double.valueOf(expected), Double.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two doubles are equal to within a positive delta.
+     * If they are not, an {@link AssertionError} is thrown with the given
+     * message.
+     * <p>
+     * Prefer overloads with fixed number of arguments on hot paths, varargs array is allocated
+     * even if assertion passes.
+     *
+     * @param expected expected value
+     * @param actual the value to check against <code>expected</code>
+     * @param delta the maximum delta between <code>expected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param args template arguments
+     */
+    public static void assertEquals(double expected, double actual, double delta, String template, Object... args) {
+        evaluated();
+        if (doubleIsDifferent(expected, actual, delta) && !isIgnored()) {
+            failNotEquals(template, args, Double.valueOf(expected), Double.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two floats are equal to within a positive delta.
+     * If they are not, an {@link AssertionError} is thrown with the given
+     * message. If the expected value is infinity then the delta value is
+     * ignored. NaNs are considered equal:
+     * <code>assertEquals(Float.NaN, Float.NaN, *)</code> passes
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expected expected value
+     * @param actual the value to check against <code>expected</code>
+     * @param delta the maximum delta between <code>expected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     */
+    public static void assertEquals(String message, float expected,
+                                    float actual, float delta) {
+        evaluated();
+        if (floatIsDifferent(expected, actual, delta) && !isIgnored()) {
+            failNotEquals(message, Float.valueOf(expected), Float.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two floats are equal to within a positive delta.
+     * If they are not, an {@link AssertionError} is thrown with the given
+     * message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param expected expected value
+     * @param actual the value to check against <code>expected</code>
+     * @param delta the maximum delta between <code>expected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     */
+    public static void assertEquals(MessageSupplier message, float expected, float actual, float delta) {
+        evaluated();
+        if (floatIsDifferent(expected, actual, delta) && !isIgnored()) {
+            failNotEquals(messageOf(message), null, Float.valueOf(expected), Float.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two floats are equal to within a positive delta.
+     * If they are not, an {@link AssertionError} is thrown with the given
+     * message.
+     *
+     * @param expected expected value
+     * @param actual the value to check against <code>expected</code>
+     * @param delta the maximum delta between <code>expected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg template argument
+     */
+    public static void assertEquals(float expected, float actual, float delta, String template, Object arg) {
+        evaluated();
+        if (floatIsDifferent(expected, actual, delta) && !isIgnored()) {
+            failNotEquals(template, new Object[]{arg}, Float.valueOf(expected), Float.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two floats are equal to within a positive delta.
+     * If they are not, an {@link AssertionError} is thrown with the given
+     * message.
+     *
+     * @param expected expected value
+     * @param actual the value to check against <code>expected</code>
+     * @param delta the maximum delta between <code>expected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     */
+    public static void assertEquals(float expected, float actual, float delta, String template, Object arg1, Object arg2) {
+        evaluated();
+        if (floatIsDifferent(expected, actual, delta) && !isIgnored()) {
+            failNotEquals(template, new Object[]{arg1, arg2}, Float.valueOf(expected), Float.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two floats are equal to within a positive delta.
+     * If they are not, an {@link AssertionError} is thrown with the given
+     * message.
+     *
+     * @param expected expected value
+     * @param actual the value to check against <code>expected</code>
+     * @param delta the maximum delta between <code>expected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     * @param arg3 template argument
+     */
+    public static void assertEquals(float expected, float actual, float delta, String template, Object arg1, Object arg2, Object arg3) {
+        evaluated();
+        if (floatIsDifferent(expected, actual, delta) && !isIgnored()) {
+            failNotEquals(template, new Object[]{arg1, arg2, arg3}, Float.valueOf(expected), Float.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two floats are equal to within a positive delta.
+     * If they are not, an {@link AssertionError} is thrown with the given
+     * message.
+     * <p>
+     * Prefer overloads with fixed number of arguments on hot paths, varargs array is allocated
+     * even if assertion passes.
+     *
+     * @param expected expected value
+     * @param actual the value to check against <code>expected</code>
+     * @param delta the maximum delta between <code>expected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param args template arguments
+     */
+    public static void assertEquals(float expected, float actual, float delta, String template, Object... args) {
+        evaluated();
+        if (floatIsDifferent(expected, actual, delta) && !isIgnored()) {
+            failNotEquals(template, args, Float.valueOf(expected), Float.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two floats are <b>not</b> equal to within a positive delta.
+     * If they are, an {@link AssertionError} is thrown with the given
+     * message. If the unexpected value is infinity then the delta value is
+     * ignored. NaNs are considered equal:
+     * <code>assertNotEquals(Float.NaN, Float.NaN, *)</code> fails
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param unexpected unexpected value
+     * @param actual the value to check against <code>unexpected</code>
+     * @param delta the maximum delta between <code>unexpected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     */
+    public static void assertNotEquals(String message, float unexpected,
+                                       float actual, float delta) {
+        evaluated();
+        if (!floatIsDifferent(unexpected, actual, delta) && !isIgnored()) {
+            failEquals(message, actual);
+        }
+    }
+
+    /**
+     * Asserts that two floats are <b>not</b> equal to within a positive delta.
+     * If they are, an {@link AssertionError} is thrown with the given
+     * message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param unexpected unexpected value
+     * @param actual the value to check against <code>unexpected</code>
+     * @param delta the maximum delta between <code>unexpected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     */
+    public static void assertNotEquals(MessageSupplier message, float unexpected, float actual, float delta) {
+        evaluated();
+        if (!floatIsDifferent(unexpected, actual, delta) && !isIgnored()) {
+            failEquals(messageOf(message), null, Float.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two floats are <b>not</b> equal to within a positive delta.
+     * If they are, an {@link AssertionError} is thrown with the given
+     * message.
+     *
+     * @param unexpected unexpected value
+     * @param actual the value to check against <code>unexpected</code>
+     * @param delta the maximum delta between <code>unexpected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg template argument
+     */
+    public static void assertNotEquals(float unexpected, float actual, float delta, String template, Object arg) {
+        evaluated();
+        if (!floatIsDifferent(unexpected, actual, delta) && !isIgnored()) {
+            failEquals(template, new Object[]{arg}, Float.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two floats are <b>not</b> equal to within a positive delta.
+     * If they are, an {@link AssertionError} is thrown with the given
+     * message.
+     *
+     * @param unexpected unexpected value
+     * @param actual the value to check against <code>unexpected</code>
+     * @param delta the maximum delta between <code>unexpected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     */
+    public static void assertNotEquals(float unexpected, float actual, float delta, String template, Object arg1, Object arg2) {
+        evaluated();
+        if (!floatIsDifferent(unexpected, actual, delta) && !isIgnored()) {
+            failEquals(template, new Object[]{arg1, arg2}, Float.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two floats are <b>not</b> equal to within a positive delta.
+     * If they are, an {@link AssertionError} is thrown with the given
+     * message.
+     *
+     * @param unexpected unexpected value
+     * @param actual the value to check against <code>unexpected</code>
+     * @param delta the maximum delta between <code>unexpected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     * @param arg3 template argument
+     */
+    public static void assertNotEquals(float unexpected, float actual, float delta, String template, Object arg1, Object arg2, Object arg3) {
+        evaluated();
+        if (!floatIsDifferent(unexpected, actual, delta) && !isIgnored()) {
+            failEquals(template, new Object[]{arg1, arg2, arg3}, Float.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two floats are <b>not</b> equal to within a positive delta.
+     * If they are, an {@link AssertionError} is thrown with the given
+     * message.
+     * <p>
+     * Prefer overloads with fixed number of arguments on hot paths, varargs array is allocated
+     * even if assertion passes.
+     *
+     * @param unexpected unexpected value
+     * @param actual the value to check against <code>unexpected</code>
+     * @param delta the maximum delta between <code>unexpected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param args template arguments
+     */
+    public static void assertNotEquals(float unexpected, float actual, float delta, String template, Object... args) {
+        evaluated();
+        if (!floatIsDifferent(unexpected, actual, delta) && !isIgnored()) {
+            failEquals(template, args, Float.valueOf(actual));
+        }
+    }
+
+    private static boolean doubleIsDifferent(double d1, double d2, double delta) {
+        if (Double.compare(d1, d2) == 0) {
+            return false;
+        }
+        if ((Math.abs(d1 - d2) <= delta)) {
+            return false;
+        }
+
+        return true;
+    }
+
+    private static boolean floatIsDifferent(float f1, float f2, float delta) {
+        if (Float.compare(f1, f2) == 0) {
+            return false;
+        }
+        if ((Math.abs(f1 - f2) <= delta)) {
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Asserts that two longs are equal. If they are not, an
+     * {@link AssertionError} is thrown.
+     *
+     * @param expected expected long value.
+     * @param actual actual long value
+     */
+    public static void assertEquals(long expected, long actual) {
+        assertEquals((String) null, expected, actual);
+    }
+
+    /**
+     * Asserts that two longs are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expected long expected value.
+     * @param actual long actual value
+     */
+    public static void assertEquals(String message, long expected, long actual) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotEquals(message, Long.valueOf(expected), Long.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two longs are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param expected long expected value.
+     * @param actual long actual value
+     */
+    public static void assertEquals(MessageSupplier message, long expected, long actual) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotEquals(messageOf(message), null, Long.valueOf(expected), Long.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two longs are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param expected long expected value.
+     * @param actual long actual value
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg template argument
+     */
+    public static void assertEquals(long expected, long actual, String template, Object arg) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotEquals(template, new Object[]{arg}, Long.valueOf(expected), Long.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two longs are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param expected long expected value.
+     * @param actual long actual value
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     */
+    public static void assertEquals(long expected, long actual, String template, Object arg1, Object arg2) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotEquals(template, new Object[]{arg1, arg2}, Long.valueOf(expected), Long.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two longs are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param expected long expected value.
+     * @param actual long actual value
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     * @param arg3 template argument
+     */
+    public static void assertEquals(long expected, long actual, String template, Object arg1, Object arg2, Object arg3) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotEquals(template, new Object[]{arg1, arg2, arg3}, Long.valueOf(expected), Long.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two longs are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     * <p>
+     * Prefer overloads with fixed number of arguments on hot paths, varargs array is allocated
+     * even if assertion passes.
+     *
+     * @param expected long expected value.
+     * @param actual long actual value
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param args template arguments
+     */
+    public static void assertEquals(long expected, long actual, String template, Object... args) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotEquals(template, args, Long.valueOf(expected), Long.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two ints are equal. If they are not, an
+     * {@link AssertionError} is thrown.
+     *
+     * @param expected expected int value.
+     * @param actual actual int value
+     */
+    public static void assertEquals(int expected, int actual) {
+        assertEquals((String) null, expected, actual);
+    }
+
+    /**
+     * Asserts that two ints are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expected int expected value.
+     * @param actual int actual value
+     */
+    public static void assertEquals(String message, int expected, int actual) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotEquals(message, Integer.valueOf(expected), Integer.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two ints are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param expected int expected value.
+     * @param actual int actual value
+     */
+    public static void assertEquals(MessageSupplier message, int expected, int actual) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotEquals(messageOf(message), null, Integer.valueOf(expected), Integer.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two ints are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(String message, int unexpected, int actual) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failEquals(message, Integer.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two ints are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(MessageSupplier message, int unexpected, int actual) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failEquals(messageOf(message), null, Integer.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two ints are <b>not</b> equals. If they are, an
+     * {@link AssertionError} without a message is thrown.
+     *
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(int unexpected, int actual) {
+        assertNotEquals((String) null, unexpected, actual);
+    }
+
+    /**
+     * Asserts that two chars are equal. If they are not, an
+     * {@link AssertionError} is thrown.
+     *
+     * @param expected expected char value.
+     * @param actual actual char value
+     */
+    public static void assertEquals(char expected, char actual) {
+        assertEquals((String) null, expected, actual);
+    }
+
+    /**
+     * Asserts that two chars are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expected char expected value.
+     * @param actual char actual value
+     */
+    public static void assertEquals(String message, char expected, char actual) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotEquals(message, Character.valueOf(expected), Character.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two chars are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param expected char expected value.
+     * @param actual char actual value
+     */
+    public static void assertEquals(MessageSupplier message, char expected, char actual) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotEquals(messageOf(message), null, Character.valueOf(expected), Character.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two chars are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(String message, char unexpected, char actual) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failEquals(message, Character.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two chars are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(MessageSupplier message, char unexpected, char actual) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failEquals(messageOf(message), null, Character.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two chars are <b>not</b> equals. If they are, an
+     * {@link AssertionError} without a message is thrown.
+     *
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(char unexpected, char actual) {
+        assertNotEquals((String) null, unexpected, actual);
+    }
+
+    /**
+     * Asserts that two shorts are equal. If they are not, an
+     * {@link AssertionError} is thrown.
+     *
+     * @param expected expected short value.
+     * @param actual actual short value
+     */
+    public static void assertEquals(short expected, short actual) {
+        assertEquals((String) null, expected, actual);
+    }
+
+    /**
+     * Asserts that two shorts are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expected short expected value.
+     * @param actual short actual value
+     */
+    public static void assertEquals(String message, short expected, short actual) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotEquals(message, Short.valueOf(expected), Short.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two shorts are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param expected short expected value.
+     * @param actual short actual value
+     */
+    public static void assertEquals(MessageSupplier message, short expected, short actual) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotEquals(messageOf(message), null, Short.valueOf(expected), Short.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two shorts are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(String message, short unexpected, short actual) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failEquals(message, Short.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two shorts are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(MessageSupplier message, short unexpected, short actual) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failEquals(messageOf(message), null, Short.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two shorts are <b>not</b> equals. If they are, an
+     * {@link AssertionError} without a message is thrown.
+     *
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(short unexpected, short actual) {
+        assertNotEquals((String) null, unexpected, actual);
+    }
+
+    /**
+     * Asserts that two bytes are equal. If they are not, an
+     * {@link AssertionError} is thrown.
+     *
+     * @param expected expected byte value.
+     * @param actual actual byte value
+     */
+    public static void assertEquals(byte expected, byte actual) {
+        assertEquals((String) null, expected, actual);
+    }
+
+    /**
+     * Asserts that two bytes are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expected byte expected value.
+     * @param actual byte actual value
+     */
+    public static void assertEquals(String message, byte expected, byte actual) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotEquals(message, Byte.valueOf(expected), Byte.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two bytes are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param expected byte expected value.
+     * @param actual byte actual value
+     */
+    public static void assertEquals(MessageSupplier message, byte expected, byte actual) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotEquals(messageOf(message), null, Byte.valueOf(expected), Byte.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two bytes are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(String message, byte unexpected, byte actual) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failEquals(message, Byte.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two bytes are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(MessageSupplier message, byte unexpected, byte actual) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failEquals(messageOf(message), null, Byte.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two bytes are <b>not</b> equals. If they are, an
+     * {@link AssertionError} without a message is thrown.
+     *
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(byte unexpected, byte actual) {
+        assertNotEquals((String) null, unexpected, actual);
+    }
+
+    /**
+     * Asserts that two booleans are equal. If they are not, an
+     * {@link AssertionError} is thrown.
+     *
+     * @param expected expected boolean value.
+     * @param actual actual boolean value
+     */
+    public static void assertEquals(boolean expected, boolean actual) {
+        assertEquals((String) null, expected, actual);
+    }
+
+    /**
+     * Asserts that two booleans are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expected boolean expected value.
+     * @param actual boolean actual value
+     */
+    public static void assertEquals(String message, boolean expected, boolean actual) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotEquals(message, Boolean.valueOf(expected), Boolean.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two booleans are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param expected boolean expected value.
+     * @param actual boolean actual value
+     */
+    public static void assertEquals(MessageSupplier message, boolean expected, boolean actual) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotEquals(messageOf(message), null, Boolean.valueOf(expected), Boolean.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two booleans are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(String message, boolean unexpected, boolean actual) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failEquals(message, Boolean.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two booleans are <b>not</b> equals. If they are, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(MessageSupplier message, boolean unexpected, boolean actual) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failEquals(messageOf(message), null, Boolean.valueOf(actual));
+        }
+    }
+
+    /**
+     * Asserts that two booleans are <b>not</b> equals. If they are, an
+     * {@link AssertionError} without a message is thrown.
+     *
+     * @param unexpected unexpected value to check
+     * @param actual the value to check against <code>unexpected</code>
+     */
+    public static void assertNotEquals(boolean unexpected, boolean actual) {
+        assertNotEquals((String) null, unexpected, actual);
+    }
+
+    /**
+     * Asserts that two doubles are equal to within a positive delta.
+     * If they are not, an {@link AssertionError} is thrown. If the expected
+     * value is infinity then the delta value is ignored.NaNs are considered
+     * equal: <code>assertEquals(Double.NaN, Double.NaN, *)</code> passes
+     *
+     * @param expected expected value
+     * @param actual the value to check against <code>expected</code>
+     * @param delta the maximum delta between <code>expected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     */
+    public static void assertEquals(double expected, double actual, double delta) {
+        assertEquals((String) null, expected, actual, delta);
+    }
+
+    /**
+     * Asserts that two floats are equal to within a positive delta.
+     * If they are not, an {@link AssertionError} is thrown. If the expected
+     * value is infinity then the delta value is ignored. NaNs are considered
+     * equal: <code>assertEquals(Float.NaN, Float.NaN, *)</code> passes
+     *
+     * @param expected expected value
+     * @param actual the value to check against <code>expected</code>
+     * @param delta the maximum delta between <code>expected</code> and
+     * <code>actual</code> for which both numbers are still
+     * considered equal.
+     */
+    public static void assertEquals(float expected, float actual, float delta) {
+        assertEquals((String) null, expected, actual, delta);
+    }
+
+    /**
+     * Asserts that an object isn't null. If it is an {@link AssertionError} is
+     * thrown with the given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param object Object to check or <code>null</code>
+     */
+    public static void assertNotNull(String message, Object object) {
+        assertTrue(message, object != null);
+    }
+
+    /**
+     * Asserts that an object isn't null. If it is an {@link AssertionError} is
+     * thrown with the given message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param object Object to check or <code>null</code>
+     */
+    public static void assertNotNull(MessageSupplier message, Object object) {
+        evaluated();
+        if (object == null && !isIgnored()) {
+            fail(messageOf(message));
+        }
+    }
+
+    /**
+     * Asserts that an object isn't null. If it is an {@link AssertionError} is
+     * thrown with the given message.
+     *
+     * @param object Object to check or <code>null</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg template argument
+     */
+    public static void assertNotNull(Object object, String template, Object arg) {
+        evaluated();
+        if (object == null && !isIgnored()) {
+            fail(MessageFormatter.format(template, new Object[]{arg}));
+        }
+    }
+
+    /**
+     * Asserts that an object isn't null. If it is an {@link AssertionError} is
+     * thrown with the given message.
+     *
+     * @param object Object to check or <code>null</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     */
+    public static void assertNotNull(Object object, String template, Object arg1, Object arg2) {
+        evaluated();
+        if (object == null && !isIgnored()) {
+            fail(MessageFormatter.format(template, new Object[]{arg1, arg2}));
+        }
+    }
+
+    /**
+     * Asserts that an object isn't null. If it is an {@link AssertionError} is
+     * thrown with the given message.
+     *
+     * @param object Object to check or <code>null</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     * @param arg3 template argument
+     */
+    public static void assertNotNull(Object object, String template, Object arg1, Object arg2, Object arg3) {
+        evaluated();
+        if (object == null && !isIgnored()) {
+            fail(MessageFormatter.format(template, new Object[]{arg1, arg2, arg3}));
+        }
+    }
+
+    /**
+     * Asserts that an object isn't null. If it is an {@link AssertionError} is
+     * thrown with the given message.
+     * <p>
+     * Prefer overloads with fixed number of arguments on hot paths, varargs array is allocated
+     * even if assertion passes.
+     *
+     * @param object Object to check or <code>null</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param args template arguments
+     */
+    public static void assertNotNull(Object object, String template, Object... args) {
+        evaluated();
+        if (object == null && !isIgnored()) {
+            fail(MessageFormatter.format(template, args));
+        }
+    }
+
+    /**
+     * Asserts that an object isn't null. If it is an {@link AssertionError} is
+     * thrown.
+     *
+     * @param object Object to check or <code>null</code>
+     */
+    public static void assertNotNull(Object object) {
+        assertNotNull((String) null, object);
+    }
+
+    /**
+     * Asserts that an object is null. If it is not, an {@link AssertionError}
+     * is thrown with the given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param object Object to check or <code>null</code>
+     */
+    public static void assertNull(String message, Object object) {
+        evaluated();
+        if (object == null || isIgnored()) {
+            return;
+        }
+        failNotNull(message, object);
+    }
+
+    /**
+     * Asserts that an object is null. If it is not, an {@link AssertionError}
+     * is thrown with the given message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param object Object to check or <code>null</code>
+     */
+    public static void assertNull(MessageSupplier message, Object object) {
+        evaluated();
+        if (object != null && !isIgnored()) {
+            failNotNull(messageOf(message), null, object);
+        }
+    }
+
+    /**
+     * Asserts that an object is null. If it is not, an {@link AssertionError}
+     * is thrown with the given message.
+     *
+     * @param object Object to check or <code>null</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg template argument
+     */
+    public static void assertNull(Object object, String template, Object arg) {
+        evaluated();
+        if (object != null && !isIgnored()) {
+            failNotNull(template, new Object[]{arg}, object);
+        }
+    }
+
+    /**
+     * Asserts that an object is null. If it is not, an {@link AssertionError}
+     * is thrown with the given message.
+     *
+     * @param object Object to check or <code>null</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     */
+    public static void assertNull(Object object, String template, Object arg1, Object arg2) {
+        evaluated();
+        if (object != null && !isIgnored()) {
+            failNotNull(template, new Object[]{arg1, arg2}, object);
+        }
+    }
+
+    /**
+     * Asserts that an object is null. If it is not, an {@link AssertionError}
+     * is thrown with the given message.
+     *
+     * @param object Object to check or <code>null</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     * @param arg3 template argument
+     */
+    public static void assertNull(Object object, String template, Object arg1, Object arg2, Object arg3) {
+        evaluated();
+        if (object != null && !isIgnored()) {
+            failNotNull(template, new Object[]{arg1, arg2, arg3}, object);
+        }
+    }
+
+    /**
+     * Asserts that an object is null. If it is not, an {@link AssertionError}
+     * is thrown with the given message.
+     * <p>
+     * Prefer overloads with fixed number of arguments on hot paths, varargs array is allocated
+     * even if assertion passes.
+     *
+     * @param object Object to check or <code>null</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param args template arguments
+     */
+    public static void assertNull(Object object, String template, Object... args) {
+        evaluated();
+        if (object != null && !isIgnored()) {
+            failNotNull(template, args, object);
+        }
+    }
+
+    /**
+     * Asserts that an object is null. If it isn't an {@link AssertionError} is
+     * thrown.
+     *
+     * @param object Object to check or <code>null</code>
+     */
+    public static void assertNull(Object object) {
+        assertNull((String) null, object);
+    }
+
+    private static void failNotNull(String message, Object actual) {
+        failNotNull(message, null, actual);
+    }
+
+    private static void failNotNull(String template, Object[] args, Object actual) {
+        StringBuilder builder = MessageFormatter.acquire();
+        appendPrefix(builder, template, args);
+        builder.append("expected null, but was:<").append(actual).append('>');
+        fail(MessageFormatter.release(builder));
+    }
+
+    /**
+     * Asserts that two objects refer to the same object. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expected the expected object
+     * @param actual the object to compare to <code>expected</code>
+     */
+    public static void assertSame(String message, Object expected, Object actual) {
+        evaluated();
+        if (expected == actual || isIgnored()) {
+            return;
+        }
+        failNotSame(message, expected, actual);
+    }
+
+    /**
+     * Asserts that two objects refer to the same object. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param expected the expected object
+     * @param actual the object to compare to <code>expected</code>
+     */
+    public static void assertSame(MessageSupplier message, Object expected, Object actual) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotSame(messageOf(message), null, expected, actual);
+        }
+    }
+
+    /**
+     * Asserts that two objects refer to the same object. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param expected the expected object
+     * @param actual the object to compare to <code>expected</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg template argument
+     */
+    public static void assertSame(Object expected, Object actual, String template, Object arg) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotSame(template, new Object[]{arg}, expected, actual);
+        }
+    }
+
+    /**
+     * Asserts that two objects refer to the same object. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param expected the expected object
+     * @param actual the object to compare to <code>expected</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     */
+    public static void assertSame(Object expected, Object actual, String template, Object arg1, Object arg2) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotSame(template, new Object[]{arg1, arg2}, expected, actual);
+        }
+    }
+
+    /**
+     * Asserts that two objects refer to the same object. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     *
+     * @param expected the expected object
+     * @param actual the object to compare to <code>expected</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     * @param arg3 template argument
+     */
+    public static void assertSame(Object expected, Object actual, String template, Object arg1, Object arg2, Object arg3) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotSame(template, new Object[]{arg1, arg2, arg3}, expected, actual);
+        }
+    }
+
+    /**
+     * Asserts that two objects refer to the same object. If they are not, an
+     * {@link AssertionError} is thrown with the given message.
+     * <p>
+     * Prefer overloads with fixed number of arguments on hot paths, varargs array is allocated
+     * even if assertion passes.
+     *
+     * @param expected the expected object
+     * @param actual the object to compare to <code>expected</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param args template arguments
+     */
+    public static void assertSame(Object expected, Object actual, String template, Object... args) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            failNotSame(template, args, expected, actual);
+        }
+    }
+
+    /**
+     * Asserts that two objects refer to the same object. If they are not the
+     * same, an {@link AssertionError} without a message is thrown.
+     *
+     * @param expected the expected object
+     * @param actual the object to compare to <code>expected</code>
+     */
+    public static void assertSame(Object expected, Object actual) {
+        assertSame((String) null, expected, actual);
+    }
+
+    /**
+     * Asserts that two objects do not refer to the same object. If they do
+     * refer to the same object, an {@link AssertionError} is thrown with the
+     * given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param unexpected the object you don't expect
+     * @param actual the object to compare to <code>unexpected</code>
+     */
+    public static void assertNotSame(String message, Object unexpected,
+                                     Object actual) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failSame(message);
+        }
+    }
+
+    /**
+     * Asserts that two objects do not refer to the same object. If they do
+     * refer to the same object, an {@link AssertionError} is thrown with the
+     * given message.
+     *
+     * @param message supplier of the identifying message for the {@link AssertionError}, called
+     * only if assertion fails (<code>null</code> okay)
+     * @param unexpected the object you don't expect
+     * @param actual the object to compare to <code>unexpected</code>
+     */
+    public static void assertNotSame(MessageSupplier message, Object unexpected, Object actual) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failSame(messageOf(message), null);
+        }
+    }
+
+    /**
+     * Asserts that two objects do not refer to the same object. If they do
+     * refer to the same object, an {@link AssertionError} is thrown with the
+     * given message.
+     *
+     * @param unexpected the object you don't expect
+     * @param actual the object to compare to <code>unexpected</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg template argument
+     */
+    public static void assertNotSame(Object unexpected, Object actual, String template, Object arg) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failSame(template, new Object[]{arg});
+        }
+    }
+
+    /**
+     * Asserts that two objects do not refer to the same object. If they do
+     * refer to the same object, an {@link AssertionError} is thrown with the
+     * given message.
+     *
+     * @param unexpected the object you don't expect
+     * @param actual the object to compare to <code>unexpected</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     */
+    public static void assertNotSame(Object unexpected, Object actual, String template, Object arg1, Object arg2) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failSame(template, new Object[]{arg1, arg2});
+        }
+    }
+
+    /**
+     * Asserts that two objects do not refer to the same object. If they do
+     * refer to the same object, an {@link AssertionError} is thrown with the
+     * given message.
+     *
+     * @param unexpected the object you don't expect
+     * @param actual the object to compare to <code>unexpected</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg1 template argument
+     * @param arg2 template argument
+     * @param arg3 template argument
+     */
+    public static void assertNotSame(Object unexpected, Object actual, String template, Object arg1, Object arg2, Object arg3) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failSame(template, new Object[]{arg1, arg2, arg3});
+        }
+    }
+
+    /**
+     * Asserts that two objects do not refer to the same object. If they do
+     * refer to the same object, an {@link AssertionError} is thrown with the
+     * given message.
+     * <p>
+     * Prefer overloads with fixed number of arguments on hot paths, varargs array is allocated
+     * even if assertion passes.
+     *
+     * @param unexpected the object you don't expect
+     * @param actual the object to compare to <code>unexpected</code>
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param args template arguments
+     */
+    public static void assertNotSame(Object unexpected, Object actual, String template, Object... args) {
+        evaluated();
+        if (unexpected == actual && !isIgnored()) {
+            failSame(template, args);
+        }
+    }
+
+    /**
+     * Asserts that two objects do not refer to the same object. If they do
+     * refer to the same object, an {@link AssertionError} without a message is
+     * thrown.
+     *
+     * @param unexpected the object you don't expect
+     * @param actual the object to compare to <code>unexpected</code>
+     */
+    public static void assertNotSame(Object unexpected, Object actual) {
+        assertNotSame((String) null, unexpected, actual);
+    }
+
+    private static void failSame(String message) {
+        failSame(message, null);
+    }
+
+    private static void failSame(String template, Object[] args) {
+        StringBuilder builder = MessageFormatter.acquire();
+        appendPrefix(builder, template, args);
+        builder.append("expected not same");
+        fail(MessageFormatter.release(builder));
+    }
+
+    private static void failNotSame(String message, Object expected,
+                                    Object actual) {
+        failNotSame(message, null, expected, actual);
+    }
+
+    private static void failNotSame(String template, Object[] args, Object expected,
+                                    Object actual) {
+        StringBuilder builder = MessageFormatter.acquire();
+        appendPrefix(builder, template, args);
+        builder.append("expected same:<").append(expected).append("> was not:<").append(actual)
+                .append('>');
+        fail(MessageFormatter.release(builder));
+    }
+
+    private static void failNotEquals(String message, Object expected,
+                                      Object actual) {
+        fail(format(message, expected, actual));
+    }
+
+    private static void failNotEquals(String template, Object[] args, Object expected,
+                                      Object actual) {
+        fail(format(template, args, expected, actual));
+    }
+
+    /**
+     * Append message followed by space, if there is any.
+     */
+    private static void appendPrefix(StringBuilder builder, String template, Object[] args) {
+        if (template != null && !"".equals(template)) {
+            MessageFormatter.appendMessage(builder, template, args);
+            builder.append(' ');
+        }
+    }
+
+    static String format(String message, Object expected, Object actual) {
+        return format(message, null, expected, actual);
+    }
+
+    static String format(String template, Object[] args, Object expected, Object actual) {
+        StringBuilder builder = MessageFormatter.acquire();
+        appendPrefix(builder, template, args);
+        String expectedString = MessageFormatter.valueOf(expected);
+        String actualString = MessageFormatter.valueOf(actual);
+        if (expectedString.equals(actualString)) {
+            builder.append("expected: ");
+            appendClassAndValue(builder, expected, expectedString);
+            builder.append(" but was: ");
+            appendClassAndValue(builder, actual, actualString);
+        } else {
+            builder.append("expected:<").append(expectedString).append("> but was:<")
+                    .append(actualString).append('>');
+        }
+        return MessageFormatter.release(builder);
+    }
+
+    private static void appendClassAndValue(StringBuilder builder, Object value, String valueString) {
+        String className = value == null ? "null" : value.getClass().getName();
+        builder.append(className).append('<').append(valueString).append('>');
+    }
+
+    /**
+     * Lazily provides assertion message, so it's built only if assertion fails.
+     */
+    public interface MessageSupplier {
+        String get();
+    }
+
+    private static String messageOf(MessageSupplier message) {
+        return message == null ? null : message.get();
+    }
+
+    /**
+     * Asserts that two Object arrays are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message, index of first
+     * differing element and few elements around it.
+     * Elements are compared with {@link Object#equals(Object)}.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expecteds Object[] with expected values
+     * @param actuals Object[] with actual values
+     */
+    public static void assertArrayEquals(String message, Object[] expecteds, Object[] actuals) {
+        evaluated();
+        if (expecteds == actuals) {
+            return;
+        }
+        if (expecteds == null || actuals == null) {
+            failArrays(message, expecteds, actuals, 0);
+            return;
+        }
+        int length = Math.min(expecteds.length, actuals.length);
+        for (int i = 0; i < length; i++) {
+            if (!equalsRegardingNull(expecteds[i], actuals[i])) {
+                failArrays(message, expecteds, actuals, i);
+                return;
+            }
+        }
+        if (expecteds.length != actuals.length) {
+            failArrays(message, expecteds, actuals, length);
+        }
+    }
+
+    /**
+     * Asserts that two Object arrays are equal. If they are not, an
+     * {@link AssertionError} is thrown with index of first differing element and few
+     * elements around it.
+     *
+     * @param expecteds Object[] with expected values
+     * @param actuals Object[] with actual values
+     */
+    public static void assertArrayEquals(Object[] expecteds, Object[] actuals) {
+        assertArrayEquals(null, expecteds, actuals);
+    }
+
+    /**
+     * Asserts that two long arrays are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message, index of first
+     * differing element and few elements around it.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expecteds long[] with expected values
+     * @param actuals long[] with actual values
+     */
+    public static void assertArrayEquals(String message, long[] expecteds, long[] actuals) {
+        evaluated();
+        if (expecteds == actuals) {
+            return;
+        }
+        if (expecteds == null || actuals == null) {
+            failArrays(message, expecteds, actuals, 0);
+            return;
+        }
+        int length = Math.min(expecteds.length, actuals.length);
+        for (int i = 0; i < length; i++) {
+            if (expecteds[i] != actuals[i]) {
+                failArrays(message, expecteds, actuals, i);
+                return;
+            }
+        }
+        if (expecteds.length != actuals.length) {
+            failArrays(message, expecteds, actuals, length);
+        }
+    }
+
+    /**
+     * Asserts that two long arrays are equal. If they are not, an
+     * {@link AssertionError} is thrown with index of first differing element and few
+     * elements around it.
+     *
+     * @param expecteds long[] with expected values
+     * @param actuals long[] with actual values
+     */
+    public static void assertArrayEquals(long[] expecteds, long[] actuals) {
+        assertArrayEquals(null, expecteds, actuals);
+    }
+
+    /**
+     * Asserts that two int arrays are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message, index of first
+     * differing element and few elements around it.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expecteds int[] with expected values
+     * @param actuals int[] with actual values
+     */
+    public static void assertArrayEquals(String message, int[] expecteds, int[] actuals) {
+        evaluated();
+        if (expecteds == actuals) {
+            return;
+        }
+        if (expecteds == null || actuals == null) {
+            failArrays(message, expecteds, actuals, 0);
+            return;
+        }
+        int length = Math.min(expecteds.length, actuals.length);
+        for (int i = 0; i < length; i++) {
+            if (expecteds[i] != actuals[i]) {
+                failArrays(message, expecteds, actuals, i);
+                return;
+            }
+        }
+        if (expecteds.length != actuals.length) {
+            failArrays(message, expecteds, actuals, length);
+        }
+    }
+
+    /**
+     * Asserts that two int arrays are equal. If they are not, an
+     * {@link AssertionError} is thrown with index of first differing element and few
+     * elements around it.
+     *
+     * @param expecteds int[] with expected values
+     * @param actuals int[] with actual values
+     */
+    public static void assertArrayEquals(int[] expecteds, int[] actuals) {
+        assertArrayEquals(null, expecteds, actuals);
+    }
+
+    /**
+     * Asserts that two short arrays are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message, index of first
+     * differing element and few elements around it.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expecteds short[] with expected values
+     * @param actuals short[] with actual values
+     */
+    public static void assertArrayEquals(String message, short[] expecteds, short[] actuals) {
+        evaluated();
+        if (expecteds == actuals) {
+            return;
+        }
+        if (expecteds == null || actuals == null) {
+            failArrays(message, expecteds, actuals, 0);
+            return;
+        }
+        int length = Math.min(expecteds.length, actuals.length);
+        for (int i = 0; i < length; i++) {
+            if (expecteds[i] != actuals[i]) {
+                failArrays(message, expecteds, actuals, i);
+                return;
+            }
+        }
+        if (expecteds.length != actuals.length) {
+            failArrays(message, expecteds, actuals, length);
+        }
+    }
+
+    /**
+     * Asserts that two short arrays are equal. If they are not, an
+     * {@link AssertionError} is thrown with index of first differing element and few
+     * elements around it.
+     *
+     * @param expecteds short[] with expected values
+     * @param actuals short[] with actual values
+     */
+    public static void assertArrayEquals(short[] expecteds, short[] actuals) {
+        assertArrayEquals(null, expecteds, actuals);
+    }
+
+    /**
+     * Asserts that two byte arrays are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message, index of first
+     * differing element and few elements around it.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expecteds byte[] with expected values
+     * @param actuals byte[] with actual values
+     */
+    public static void assertArrayEquals(String message, byte[] expecteds, byte[] actuals) {
+        evaluated();
+        if (expecteds == actuals) {
+            return;
+        }
+        if (expecteds == null || actuals == null) {
+            failArrays(message, expecteds, actuals, 0);
+            return;
+        }
+        int length = Math.min(expecteds.length, actuals.length);
+        for (int i = 0; i < length; i++) {
+            if (expecteds[i] != actuals[i]) {
+                failArrays(message, expecteds, actuals, i);
+                return;
+            }
+        }
+        if (expecteds.length != actuals.length) {
+            failArrays(message, expecteds, actuals, length);
+        }
+    }
+
+    /**
+     * Asserts that two byte arrays are equal. If they are not, an
+     * {@link AssertionError} is thrown with index of first differing element and few
+     * elements around it.
+     *
+     * @param expecteds byte[] with expected values
+     * @param actuals byte[] with actual values
+     */
+    public static void assertArrayEquals(byte[] expecteds, byte[] actuals) {
+        assertArrayEquals(null, expecteds, actuals);
+    }
+
+    /**
+     * Asserts that two char arrays are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message, index of first
+     * differing element and few elements around it.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expecteds char[] with expected values
+     * @param actuals char[] with actual values
+     */
+    public static void assertArrayEquals(String message, char[] expecteds, char[] actuals) {
+        evaluated();
+        if (expecteds == actuals) {
+            return;
+        }
+        if (expecteds == null || actuals == null) {
+            failArrays(message, expecteds, actuals, 0);
+            return;
+        }
+        int length = Math.min(expecteds.length, actuals.length);
+        for (int i = 0; i < length; i++) {
+            if (expecteds[i] != actuals[i]) {
+                failArrays(message, expecteds, actuals, i);
+                return;
+            }
+        }
+        if (expecteds.length != actuals.length) {
+            failArrays(message, expecteds, actuals, length);
+        }
+    }
+
+    /**
+     * Asserts that two char arrays are equal. If they are not, an
+     * {@link AssertionError} is thrown with index of first differing element and few
+     * elements around it.
+     *
+     * @param expecteds char[] with expected values
+     * @param actuals char[] with actual values
+     */
+    public static void assertArrayEquals(char[] expecteds, char[] actuals) {
+        assertArrayEquals(null, expecteds, actuals);
+    }
+
+    /**
+     * Asserts that two boolean arrays are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message, index of first
+     * differing element and few elements around it.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expecteds boolean[] with expected values
+     * @param actuals boolean[] with actual values
+     */
+    public static void assertArrayEquals(String message, boolean[] expecteds, boolean[] actuals) {
+        evaluated();
+        if (expecteds == actuals) {
+            return;
+        }
+        if (expecteds == null || actuals == null) {
+            failArrays(message, expecteds, actuals, 0);
+            return;
+        }
+        int length = Math.min(expecteds.length, actuals.length);
+        for (int i = 0; i < length; i++) {
+            if (expecteds[i] != actuals[i]) {
+                failArrays(message, expecteds, actuals, i);
+                return;
+            }
+        }
+        if (expecteds.length != actuals.length) {
+            failArrays(message, expecteds, actuals, length);
+        }
+    }
+
+    /**
+     * Asserts that two boolean arrays are equal. If they are not, an
+     * {@link AssertionError} is thrown with index of first differing element and few
+     * elements around it.
+     *
+     * @param expecteds boolean[] with expected values
+     * @param actuals boolean[] with actual values
+     */
+    public static void assertArrayEquals(boolean[] expecteds, boolean[] actuals) {
+        assertArrayEquals(null, expecteds, actuals);
+    }
+
+    /**
+     * Asserts that two double arrays are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message, index of first
+     * differing element and few elements around it.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expecteds double[] with expected values
+     * @param actuals double[] with actual values
+     * @param delta the maximum delta between elements for which both
+     * numbers are still considered equal.
+     */
+    public static void assertArrayEquals(String message, double[] expecteds, double[] actuals, double delta) {
+        evaluated();
+        if (expecteds == actuals) {
+            return;
+        }
+        if (expecteds == null || actuals == null) {
+            failArrays(message, expecteds, actuals, 0);
+            return;
+        }
+        int length = Math.min(expecteds.length, actuals.length);
+        for (int i = 0; i < length; i++) {
+            if (doubleIsDifferent(expecteds[i], actuals[i], delta)) {
+                failArrays(message, expecteds, actuals, i);
+                return;
+            }
+        }
+        if (expecteds.length != actuals.length) {
+            failArrays(message, expecteds, actuals, length);
+        }
+    }
+
+    /**
+     * Asserts that two double arrays are equal. If they are not, an
+     * {@link AssertionError} is thrown with index of first differing element and few
+     * elements around it.
+     *
+     * @param expecteds double[] with expected values
+     * @param actuals double[] with actual values
+     * @param delta the maximum delta between elements for which both
+     * numbers are still considered equal.
+     */
+    public static void assertArrayEquals(double[] expecteds, double[] actuals, double delta) {
+        assertArrayEquals(null, expecteds, actuals, delta);
+    }
+
+    /**
+     * Asserts that two float arrays are equal. If they are not, an
+     * {@link AssertionError} is thrown with the given message, index of first
+     * differing element and few elements around it.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expecteds float[] with expected values
+     * @param actuals float[] with actual values
+     * @param delta the maximum delta between elements for which both
+     * numbers are still considered equal.
+     */
+    public static void assertArrayEquals(String message, float[] expecteds, float[] actuals, float delta) {
+        evaluated();
+        if (expecteds == actuals) {
+            return;
+        }
+        if (expecteds == null || actuals == null) {
+            failArrays(message, expecteds, actuals, 0);
+            return;
+        }
+        int length = Math.min(expecteds.length, actuals.length);
+        for (int i = 0; i < length; i++) {
+            if (floatIsDifferent(expecteds[i], actuals[i], delta)) {
+                failArrays(message, expecteds, actuals, i);
+                return;
+            }
+        }
+        if (expecteds.length != actuals.length) {
+            failArrays(message, expecteds, actuals, length);
+        }
+    }
+
+    /**
+     * Asserts that two float arrays are equal. If they are not, an
+     * {@link AssertionError} is thrown with index of first differing element and few
+     * elements around it.
+     *
+     * @param expecteds float[] with expected values
+     * @param actuals float[] with actual values
+     * @param delta the maximum delta between elements for which both
+     * numbers are still considered equal.
+     */
+    public static void assertArrayEquals(float[] expecteds, float[] actuals, float delta) {
+        assertArrayEquals(null, expecteds, actuals, delta);
+    }
+
+    /**
+     * Asserts that two iterables have equal elements in the same order. If they don't, an
+     * {@link AssertionError} is thrown with the given message, index of first differing element
+     * and few elements around it. To render them, iterables are iterated once more, so they
+     * shouldn't be single use.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expected expected elements
+     * @param actual actual elements
+     */
+    public static void assertIterableEquals(String message, Iterable<?> expected, Iterable<?> actual) {
+        evaluated();
+        if (expected == actual) {
+            return;
+        }
+        if (expected == null || actual == null) {
+            failIterables(message, expected, actual, 0);
+            return;
+        }
+        Iterator<?> expectedIterator = expected.iterator();
+        Iterator<?> actualIterator = actual.iterator();
+        int index = 0;
+        while (expectedIterator.hasNext() && actualIterator.hasNext()) {
+            if (!equalsRegardingNull(expectedIterator.next(), actualIterator.next())) {
+                failIterables(message, expected, actual, index);
+                return;
+            }
+            index++;
+        }
+        if (expectedIterator.hasNext() || actualIterator.hasNext()) {
+            failIterables(message, expected, actual, index);
+        }
+    }
+
+    /**
+     * Asserts that two iterables have equal elements in the same order. If they don't, an
+     * {@link AssertionError} is thrown with index of first differing element and few elements
+     * around it.
+     *
+     * @param expected expected elements
+     * @param actual actual elements
+     */
+    public static void assertIterableEquals(Iterable<?> expected, Iterable<?> actual) {
+        assertIterableEquals(null, expected, actual);
+    }
+
+    private static void failArrays(String message, Object expecteds, Object actuals, int index) {
+        if (isIgnored()) {
+            return;
+        }
+        fail(formatDiff(message, "arrays", expecteds, actuals, index));
+    }
+
+    private static void failIterables(String message, Iterable<?> expected, Iterable<?> actual, int index) {
+        if (isIgnored()) {
+            return;
+        }
+        fail(formatDiff(message, "iterables", expected, actual, index));
+    }
+
+    /**
+     * @param expected expected array or iterable
+     * @param actual   actual array or iterable
+     */
+    static String formatDiff(String message, String kind, Object expected, Object actual, int index) {
+        StringBuilder builder = MessageFormatter.acquire();
+        appendPrefix(builder, message, null);
+        if (expected == null || actual == null) {
+            builder.append("expected:<");
+            appendContainer(builder, expected);
+            builder.append("> but was:<");
+            appendContainer(builder, actual);
+            builder.append('>');
+            return MessageFormatter.release(builder);
+        }
+        builder.append(kind).append(" first differed at element [").append(index).append("]; expected:<");
+        appendWindow(builder, expected, index);
+        builder.append("> but was:<");
+        appendWindow(builder, actual, index);
+        builder.append('>');
+        return MessageFormatter.release(builder);
+    }
+
+    private static void appendContainer(StringBuilder builder, Object container) {
+        if (container == null) {
+            builder.append("null");
+        } else if (container.getClass().isArray()) {
+            builder.append(container.getClass().getComponentType().getSimpleName())
+                    .append('[').append(Array.getLength(container)).append(']');
+        } else {
+            builder.append(container.getClass().getName());
+        }
+    }
+
+    /**
+     * Append elements around given index, e.g. <code>[..., 3, 4, 5, 6, 7, ...]</code>.
+     */
+    private static void appendWindow(StringBuilder builder, Object container, int index) {
+        int from = Math.max(0, index - DIFF_CONTEXT);
+        int to = index + DIFF_CONTEXT + 1;
+        builder.append('[');
+        if (from > 0) {
+            builder.append("..., ");
+        }
+        boolean more;
+        if (container.getClass().isArray()) {
+            int length = Array.getLength(container);
+            for (int i = from; i < to && i < length; i++) {
+                if (i > from) {
+                    builder.append(", ");
+                }
+                MessageFormatter.appendValue(builder, Array.get(container, i));
+            }
+            more = to < length;
+        } else {
+            Iterator<?> iterator = ((Iterable<?>) container).iterator();
+            int i = 0;
+            while (i < to && iterator.hasNext()) {
+                Object element = iterator.next();
+                if (i >= from) {
+                    if (i > from) {
+                        builder.append(", ");
+                    }
+                    MessageFormatter.appendValue(builder, element);
+                }
+                i++;
+            }
+            more = iterator.hasNext();
+        }
+        if (more) {
+            builder.append(", ...");
+        }
+        builder.append(']');
+    }
+
+    /**
+     * Condition checked for each element by {@link #assertAllMatch} and {@link #assertNoneMatch}.
+     * Large inputs are checked from several threads, so it has to be thread safe.
+     *
+     * @param <T> element type
+     */
+    public interface Predicate<T> {
+        boolean test(T element);
+    }
+
+    /**
+     * Asserts that all elements match predicate. If they don't, an {@link AssertionError} is
+     * thrown with the given message, number of mismatching elements and first few of them.
+     * Large collections are checked in parallel.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param elements elements to check
+     * @param predicate condition each element should match
+     */
+    public static <T> void assertAllMatch(String message, Collection<T> elements, Predicate<? super T> predicate) {
+        evaluated();
+        BulkMatch.Mismatches mismatches = BulkMatch.scan(elements, predicate, true);
+        if (mismatches != null && !isIgnored()) {
+            fail(formatMismatches(message, "don't match", elements, mismatches));
+        }
+    }
+
+    /**
+     * Asserts that all elements match predicate. If they don't, an {@link AssertionError} is
+     * thrown with number of mismatching elements and first few of them.
+     * Large collections are checked in parallel.
+     *
+     * @param elements elements to check
+     * @param predicate condition each element should match
+     */
+    public static <T> void assertAllMatch(Collection<T> elements, Predicate<? super T> predicate) {
+        assertAllMatch(null, elements, predicate);
+    }
+
+    /**
+     * Asserts that all array elements match predicate. If they don't, an {@link AssertionError}
+     * is thrown with the given message, number of mismatching elements and first few of them.
+     * Large arrays are checked in parallel.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param elements elements to check
+     * @param predicate condition each element should match
+     */
+    public static <T> void assertAllMatch(String message, T[] elements, Predicate<? super T> predicate) {
+        assertAllMatch(message, Arrays.asList(elements), predicate);
+    }
+
+    /**
+     * Asserts that all array elements match predicate. If they don't, an {@link AssertionError}
+     * is thrown with number of mismatching elements and first few of them.
+     * Large arrays are checked in parallel.
+     *
+     * @param elements elements to check
+     * @param predicate condition each element should match
+     */
+    public static <T> void assertAllMatch(T[] elements, Predicate<? super T> predicate) {
+        assertAllMatch(null, Arrays.asList(elements), predicate);
+    }
+
+    /**
+     * Asserts that no element matches predicate. If some do, an {@link AssertionError} is
+     * thrown with the given message, number of matching elements and first few of them.
+     * Large collections are checked in parallel.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param elements elements to check
+     * @param predicate condition no element should match
+     */
+    public static <T> void assertNoneMatch(String message, Collection<T> elements, Predicate<? super T> predicate) {
+        evaluated();
+        BulkMatch.Mismatches mismatches = BulkMatch.scan(elements, predicate, false);
+        if (mismatches != null && !isIgnored()) {
+            fail(formatMismatches(message, "match", elements, mismatches));
+        }
+    }
+
+    /**
+     * Asserts that no element matches predicate. If some do, an {@link AssertionError} is
+     * thrown with number of matching elements and first few of them.
+     * Large collections are checked in parallel.
+     *
+     * @param elements elements to check
+     * @param predicate condition no element should match
+     */
+    public static <T> void assertNoneMatch(Collection<T> elements, Predicate<? super T> predicate) {
+        assertNoneMatch(null, elements, predicate);
+    }
+
+    /**
+     * Asserts that no array element matches predicate. If some do, an {@link AssertionError} is
+     * thrown with the given message, number of matching elements and first few of them.
+     * Large arrays are checked in parallel.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param elements elements to check
+     * @param predicate condition no element should match
+     */
+    public static <T> void assertNoneMatch(String message, T[] elements, Predicate<? super T> predicate) {
+        assertNoneMatch(message, Arrays.asList(elements), predicate);
+    }
+
+    /**
+     * Asserts that no array element matches predicate. If some do, an {@link AssertionError} is
+     * thrown with number of matching elements and first few of them.
+     * Large arrays are checked in parallel.
+     *
+     * @param elements elements to check
+     * @param predicate condition no element should match
+     */
+    public static <T> void assertNoneMatch(T[] elements, Predicate<? super T> predicate) {
+        assertNoneMatch(null, Arrays.asList(elements), predicate);
+    }
+
+    private static String formatMismatches(String message, String problem, Collection<?> elements,
+                                           BulkMatch.Mismatches mismatches) {
+        StringBuilder builder = MessageFormatter.acquire();
+        appendPrefix(builder, message, null);
+        builder.append(mismatches.mCount).append(" of ").append(elements.size())
+                .append(" elements ").append(problem).append(": ");
+        List<?> list = elements instanceof List ? (List<?>) elements : new ArrayList<>(elements);
+        for (int i = 0; i < mismatches.mReported; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            int index = mismatches.mIndices[i];
+            builder.append('[').append(index).append("]=<");
+            MessageFormatter.appendValue(builder, list.get(index));
+            builder.append('>');
+        }
+        if (mismatches.mCount > mismatches.mReported) {
+            builder.append(", ...");
+        }
+        return MessageFormatter.release(builder);
+    }
+
+    /**
+     * This interface facilitates the use of expectThrows from Java 8. It allows method references
+     * to void methods (that declare checked exceptions) to be passed directly into expectThrows
+     * without wrapping. It is not meant to be implemented directly.
+     *
+     * @since 4.13
+     */
+    public interface ThrowingRunnable {
+        void run() throws Throwable;
+    }
+
+    /**
+     * Asserts that {@code runnable} throws an exception of type {@code expectedThrowable} when
+     * executed. If it does, the exception object is returned. If it does not throw an exception, an
+     * {@link AssertionError} is thrown. If it throws the wrong type of exception, an {@code
+     * AssertionError} is thrown describing the mismatch; the exception that was actually thrown can
+     * be obtained by calling {@link AssertionError#getCause}.
+     *
+     * @param expectedThrowable the expected type of the exception
+     * @param runnable       a function that is expected to throw an exception when executed
+     * @since 4.13
+     */
+    public static void assertThrows(Class<? extends Throwable> expectedThrowable, ThrowingRunnable runnable) {
+        evaluated();
+        try {
+            runnable.run();
+        } catch (Throwable actualThrown) {
+            if (expectedThrowable.isInstance(actualThrown) || isIgnored()) {
+                return;
+            } else {
+                String mismatchMessage = format("unexpected exception type thrown;",
+                        expectedThrowable.getSimpleName(), actualThrown.getClass().getSimpleName());
+
+                fail(mismatchMessage, actualThrown);
+                return;
+            }
+        }
+        if (isIgnored()) {
+            return;
+        }
+        String message = String.format("expected %s to be thrown, but nothing was thrown",
+                expectedThrowable.getSimpleName());
+        fail(message);
+    }
+
+
+    /**
+     * Asserts that {@code runnable} completes within given time budget. If it takes longer,
+     * assertion fails. Exception thrown by {@code runnable} is not assertion failure, it's
+     * propagated to caller as is, or wrapped into {@link RuntimeException} if it's checked.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param budget max time {@code runnable} may take
+     * @param unit unit of budget
+     * @param runnable code to measure
+     */
+    public static void assertCompletesWithin(String message, long budget, TimeUnit unit, ThrowingRunnable runnable) {
+        evaluated();
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            runnable.run();
+            completed = true;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable thrown) {
+            throw new RuntimeException(thrown);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            long budgetNanos = unit.toNanos(budget);
+            if (elapsed > budgetNanos && !isIgnored()) {
+                if (completed) {
+                    fail(formatBudget(message, elapsed, budgetNanos));
+                } else {
+                    try {
+                        fail(formatBudget(message, elapsed, budgetNanos));
+                    } catch (AssertionError e) {
+                        // Slow failure is reported, but exception of measured code wins
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Start measuring time for {@link #assertWithinBudget(String, long, long, TimeUnit)}.
+     * Token is plain time stamp, so measuring doesn't allocate.
+     *
+     * @return token to pass to {@link #assertWithinBudget(String, long, long, TimeUnit)}
+     */
+    public static long startBudget() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Asserts that no more than given time budget has passed since {@link #startBudget()}.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param token value returned by {@link #startBudget()}
+     * @param budget max time that may pass
+     * @param unit unit of budget
+     */
+    public static void assertWithinBudget(String message, long token, long budget, TimeUnit unit) {
+        evaluated();
+        long elapsed = System.nanoTime() - token;
+        long budgetNanos = unit.toNanos(budget);
+        if (elapsed > budgetNanos && !isIgnored()) {
+            fail(formatBudget(message, elapsed, budgetNanos));
+        }
+    }
+
+    static String formatBudget(String message, long elapsedNanos, long budgetNanos) {
+        String formatted = String.format(Locale.US, "took %.1f ms, budget %.1f ms",
+                elapsedNanos / 1e6, budgetNanos / 1e6);
+        return message == null ? formatted : message + " " + formatted;
+    }
+
+    /**
+     * Asserts that current thread holds monitor lock of given object. If it doesn't it throws
+     * an {@link AssertionError} with the given message.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param lock object, whose lock should be held
+     */
+    public static void assertHoldsLock(String message, Object lock) {
+        evaluated();
+        if (!Thread.holdsLock(lock) && !isIgnored()) {
+            fail(formatThread(message, "expected to hold lock of " + lock));
+        }
+    }
+
+    /**
+     * Asserts that current thread holds monitor lock of given object. If it doesn't it throws
+     * an {@link AssertionError}.
+     *
+     * @param lock object, whose lock should be held
+     */
+    public static void assertHoldsLock(Object lock) {
+        assertHoldsLock(null, lock);
+    }
+
+    static String formatThread(String message, String expected) {
+        String formatted = expected + ", thread <" + Thread.currentThread().getName() + ">";
+        return message == null ? formatted : message + " " + formatted;
+    }
+
+    /**
+     * Open soft assertion scope: failures are recorded, and reported all at once when scope is
+     * closed.
+     *
+     * @return new scope, close it with {@link SoftAsserts#close()}
+     */
+    public static SoftAsserts soft() {
+        return new SoftAsserts(null);
+    }
+
+    /**
+     * Open soft assertion scope, which reports its failures according to mode of given tag.
+     *
+     * @param tag tag of assertions
+     * @return new scope, close it with {@link SoftAsserts#close()}
+     */
+    public static SoftAsserts soft(AssertTag tag) {
+        return new SoftAsserts(tag);
+    }
+
+    /**
+     * Expensive check, e.g. that list is sorted, evaluated by sampled assertions.
+     */
+    public interface Invariant {
+        /**
+         * @return true if invariant holds
+         */
+        boolean holds();
+    }
+
+    /**
+     * Asserts that invariant holds, but evaluates it only as often as default sample rate
+     * allows. Use it for checks that are too expensive to run on every call.
+     *
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param invariant invariant to be checked
+     * @see #setSampleRate(SampleRate)
+     */
+    public static void assertSampled(String message, Invariant invariant) {
+        assertSampled(null, message, invariant);
+    }
+
+    /**
+     * Asserts that invariant holds, but evaluates it only as often as sample rate of given tag
+     * allows. If it doesn't hold, failure is handled according to mode of given tag.
+     *
+     * @param tag tag of assertion (<code>null</code> okay)
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param invariant invariant to be checked
+     * @see #setTagSampleRate(String, SampleRate)
+     */
+    public static void assertSampled(AssertTag tag, String message, Invariant invariant) {
+        AssertConfig config = sConfig.get();
+        SampleRate rate = config == null ? SampleRate.ALWAYS : config.getSampleRate(tag);
+        if (!rate.sample()) {
+            return;
+        }
+        evaluated();
+        if (!invariant.holds()) {
+            fail(tag, message);
+        }
+    }
+
+    /**
+     * Asserts that a condition is true. If it isn't, failure is handled according to mode of
+     * given tag.
+     *
+     * @param tag tag of assertion
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param condition condition to be checked
+     */
+    public static void assertTrue(AssertTag tag, String message, boolean condition) {
+        evaluated();
+        if (!condition) {
+            fail(tag, message);
+        }
+    }
+
+    /**
+     * Asserts that a condition is true. If it isn't, failure is handled according to mode of
+     * given tag.
+     *
+     * @param tag tag of assertion
+     * @param condition condition to be checked
+     */
+    public static void assertTrue(AssertTag tag, boolean condition) {
+        assertTrue(tag, null, condition);
+    }
+
+    /**
+     * Asserts that a condition is true. If it isn't, failure is handled according to mode of
+     * given tag.
+     *
+     * @param tag tag of assertion
+     * @param condition condition to be checked
+     * @param template the identifying message for the {@link AssertionError}, each <code>{}</code>
+     * is replaced with next argument. Rendered only if assertion fails.
+     * @param arg template argument
+     */
+    public static void assertTrue(AssertTag tag, boolean condition, String template, Object arg) {
+        evaluated();
+        if (!condition && !isIgnored()) {
+            fail(tag, MessageFormatter.format(template, new Object[]{arg}));
+        }
+    }
+
+    /**
+     * Asserts that a condition is false. If it isn't, failure is handled according to mode of
+     * given tag.
+     *
+     * @param tag tag of assertion
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param condition condition to be checked
+     */
+    public static void assertFalse(AssertTag tag, String message, boolean condition) {
+        assertTrue(tag, message, !condition);
+    }
+
+    /**
+     * Asserts that a condition is false. If it isn't, failure is handled according to mode of
+     * given tag.
+     *
+     * @param tag tag of assertion
+     * @param condition condition to be checked
+     */
+    public static void assertFalse(AssertTag tag, boolean condition) {
+        assertTrue(tag, null, !condition);
+    }
+
+    /**
+     * Asserts that two objects are equal. If they are not, failure is handled according to mode
+     * of given tag. If <code>expected</code> and <code>actual</code> are <code>null</code>,
+     * they are considered equal.
+     *
+     * @param tag tag of assertion
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expected expected value
+     * @param actual actual value
+     */
+    public static void assertEquals(AssertTag tag, String message, Object expected, Object actual) {
+        evaluated();
+        if (!equalsRegardingNull(expected, actual) && !isIgnored()) {
+            fail(tag, format(message, expected, actual));
+        }
+    }
+
+    /**
+     * Asserts that two longs are equal. If they are not, failure is handled according to mode
+     * of given tag.
+     *
+     * @param tag tag of assertion
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param expected long expected value.
+     * @param actual long actual value
+     */
+    public static void assertEquals(AssertTag tag, String message, long expected, long actual) {
+        evaluated();
+        if (expected != actual && !isIgnored()) {
+            fail(tag, format(message, Long.valueOf(expected), Long.valueOf(actual)));
+        }
+    }
+
+    /**
+     * Asserts that an object isn't null. If it is, failure is handled according to mode of
+     * given tag.
+     *
+     * @param tag tag of assertion
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param object Object to check or <code>null</code>
+     */
+    public static void assertNotNull(AssertTag tag, String message, Object object) {
+        assertTrue(tag, message, object != null);
+    }
+
+    /**
+     * Asserts that an object is null. If it is not, failure is handled according to mode of
+     * given tag.
+     *
+     * @param tag tag of assertion
+     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
+     * okay)
+     * @param object Object to check or <code>null</code>
+     */
+    public static void assertNull(AssertTag tag, String message, Object object) {
+        evaluated();
+        if (object != null && !isIgnored()) {
+            StringBuilder builder = MessageFormatter.acquire();
+            appendPrefix(builder, message, null);
+            builder.append("expected null, but was:<").append(object).append('>');
+            fail(tag, MessageFormatter.release(builder));
+        }
+    }
+
+    /**
+     * Fails a test with no message.
+     */
+    public static void fail() {
+        fail((String) null, null);
+    }
+
+    /**
+     * Display assert dialog with message.
+     * @param message message to display
+     */
+    public static void fail(String message) {
+        fail(message, null);
+    }
+
+    /**
+     * Display assert dialog with message taken from throwable.
+     * @param throwable throwable to display
+     */
+    public static void fail(Throwable throwable) {
+        String message = null;
+        if (throwable != null) {
+            if (throwable.getMessage() != null) {
+                message = throwable.getMessage();
+            } else {
+                message = throwable.getClass().getSimpleName();
+            }
+        }
+        fail(message, throwable);
+    }
+
+    /**
+     * Display assert dialog with message.
+     * @param message message to display
+     * @param throwable throwable to log
+     */
+    public static void fail(String message, Throwable throwable) {
+        fail(null, message, throwable);
+    }
+
+    /**
+     * Fail, handling failure according to mode of given tag.
+     * @param tag tag of assertion (<code>null</code> okay)
+     * @param message message to display
+     */
+    public static void fail(AssertTag tag, String message) {
+        fail(tag, message, null);
+    }
+
+    /**
+     * Fail, handling failure according to mode of given tag.
+     * @param tag tag of assertion (<code>null</code> okay)
+     * @param message message to display
+     * @param throwable throwable to log
+     */
+    public static void fail(AssertTag tag, String message, Throwable throwable) {
+        // Read configuration once, so whole failure is handled consistently
+        AssertConfig config = requireConfig();
+        FailureHandler handler = config.getHandler();
+        AssertMode mode = config.getMode(tag);
+
+        // Call site is always taken from throwable created here, cause only tells what went
+        // wrong, and may come from anywhere. Fingerprint raw stack, it's trimmed by stack
+        // capture. If site isn't needed at all, it stays unknown and no throwable is created.
+        // Java can't take only top frames, so throwable is the main cost of ignored failure
+        IgnoredSites ignoredSites = config.getIgnoredSites();
+        StackCapture stackCapture = config.getStackCapture();
+        FailureRateLimiter limiter = config.getRateLimiter();
+        AssertJournal journal = config.getJournal();
+        ReportDispatcher dispatcher = config.getReportDispatcher();
+        AssertMetrics metrics = config.getMetrics();
+        Throwable here = null;
+        if (throwable != null || stackCapture.getFrames() > 0 || !ignoredSites.isEmpty()
+                || limiter != null || journal != null || dispatcher != null || metrics != null) {
+            here = new Throwable();
+        }
+        long fingerprint = here == null ? 0 : CallSiteFingerprint.hash(here);
+        if (!ignoredSites.isEmpty() && ignoredSites.contains(fingerprint)) {
+            return;
+        }
+        // Failure is handled, keep call site so log and reports can describe fingerprint
+        CallSiteFingerprint.remember(fingerprint, here);
+        StackTraceElement site = here == null ? null : CallSites.of(here);
+
+        if (throwable == null) {
+            throwable = stackCapture.capture(here);
+        }
+
+        boolean log = true;
+        if (metrics != null) {
+            metrics.onFailed(site);
+        }
+        if (limiter != null) {
+            if ((mode == AssertMode.DIALOG || mode == AssertMode.DIALOG_ASYNC)
+                    && limiter.isDowngradingDialogs() && limiter.isStorm()) {
+                mode = AssertMode.LOG;
+            }
+            int suppressed = limiter.acquire(site);
+            if (suppressed == FailureRateLimiter.SUPPRESSED) {
+                if (mode == AssertMode.LOG) {
+                    return;
+                }
+                // Still throw or show dialog, only don't flood log
+                log = false;
+            } else if (suppressed > 0) {
+                message = (message == null ? "" : message + " ") + "(" + suppressed + " more suppressed)";
+            }
+        }
+
+        if (log) {
+            handler.log(message, throwable, fingerprint);
+            if (journal != null) {
+                journal.append(mode, message, throwable, fingerprint);
+            }
+            if (dispatcher != null) {
+                dispatcher.dispatch(new FailureReport(System.currentTimeMillis(),
+                        Thread.currentThread().getName(), mode, message, throwable, site, fingerprint));
+            }
+            SnapshotCapture snapshotCapture = config.getSnapshotCapture();
+            if (snapshotCapture != null) {
+                snapshotCapture.capture(message);
+            }
+        }
+
+        switch (mode) {
+            case LOG:
+                // Log only, we've already done it
+                return;
+            case THROW:
+                // Throw error only
+                throw new AssertionError(message);
+            case DIALOG:
+                // Do nothing, we would show dialog message below
+                break;
+            case DIALOG_ASYNC:
+                // Show dialog, if possible, and keep going
+                handler.showDialogAsync(message);
+                return;
+            default:
+                throw new IllegalStateException("Unknown mode " + mode);
+        }
+
+        switch (handler.showDialog(message, config.getDialogTimeoutMillis())) {
+            case CONTINUED:
+                return;
+            case IGNORED:
+                if (fingerprint == 0) {
+                    // Still called from same place, even if stack wasn't captured
+                    fingerprint = CallSiteFingerprint.of(new Throwable());
+                }
+                ignoredSites.add(fingerprint);
+                return;
+            case TIMED_OUT:
+                if (config.isThrowOnDialogTimeout()) {
+                    throw new AssertionError(message);
+                }
+                return;
+            default:
+                // Dialog can't be shown, so behave as THROW
+                throw new AssertionError(message);
+        }
+    }
+
+    /**
+     * Work mode. Defines what to do in case that assertion fails.
+     */
+    public enum AssertMode {
+        /**
+         * Log assert only
+         */
+        LOG,
+        /**
+         * Show dialog, blocking current thread.
+         */
+        DIALOG,
+        /**
+         * Show dialog, but don't block current thread.
+         */
+        DIALOG_ASYNC,
+        /**
+         * Throw AssertionException
+         */
+        THROW
+    }
+}
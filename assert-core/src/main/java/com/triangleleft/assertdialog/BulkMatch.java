@@ -0,0 +1,126 @@
+package com.triangleleft.assertdialog;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Checks predicate against all elements for {@link Asserts#assertAllMatch} and
+ * {@link Asserts#assertNoneMatch}. Large inputs are split across fork-join pool, if platform
+ * has one (android has it since API 21), small ones are checked on calling thread.
+ */
+final class BulkMatch {
+
+    /**
+     * Mismatching elements reported in failure message.
+     */
+    static final int MAX_REPORTED = 10;
+    /**
+     * Inputs smaller than that are not worth splitting.
+     */
+    static final int PARALLEL_THRESHOLD = 8192;
+
+    private static final boolean PARALLEL_AVAILABLE = isParallelAvailable();
+
+    private BulkMatch() {
+        // Static use only
+    }
+
+    /**
+     * @param expected result predicate should return for every element
+     * @return elements with other result, or <code>null</code> if there are none
+     */
+    static <T> Mismatches scan(Collection<T> elements, Asserts.Predicate<? super T> predicate, boolean expected) {
+        int size = elements.size();
+        if (size >= PARALLEL_THRESHOLD && PARALLEL_AVAILABLE) {
+            List<T> list = elements instanceof List && elements instanceof RandomAccess
+                    ? (List<T>) elements : asList(elements);
+            return ParallelMatch.scan(list, predicate, expected);
+        }
+        if (elements instanceof List && elements instanceof RandomAccess) {
+            return scan((List<T>) elements, 0, size, predicate, expected);
+        }
+
+        Mismatches mismatches = null;
+        Iterator<T> iterator = elements.iterator();
+        for (int i = 0; iterator.hasNext(); i++) {
+            if (predicate.test(iterator.next()) != expected) {
+                mismatches = Mismatches.add(mismatches, i);
+            }
+        }
+        return mismatches;
+    }
+
+    /**
+     * Sequential check of list range.
+     */
+    static <T> Mismatches scan(List<T> list, int from, int to, Asserts.Predicate<? super T> predicate,
+                               boolean expected) {
+        Mismatches mismatches = null;
+        for (int i = from; i < to; i++) {
+            if (predicate.test(list.get(i)) != expected) {
+                mismatches = Mismatches.add(mismatches, i);
+            }
+        }
+        return mismatches;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> asList(Collection<T> elements) {
+        return (List<T>) Arrays.asList(elements.toArray());
+    }
+
+    private static boolean isParallelAvailable() {
+        if (Runtime.getRuntime().availableProcessors() < 2) {
+            return false;
+        }
+        try {
+            Class.forName("java.util.concurrent.ForkJoinPool");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Total number of mismatching elements and indices of first {@link #MAX_REPORTED} of them.
+     * Each task collects its own, and results are merged in order when tasks are joined,
+     * so no synchronization is needed.
+     */
+    static final class Mismatches {
+        final int[] mIndices = new int[MAX_REPORTED];
+        int mReported;
+        int mCount;
+
+        static Mismatches add(Mismatches mismatches, int index) {
+            if (mismatches == null) {
+                mismatches = new Mismatches();
+            }
+            if (mismatches.mReported < MAX_REPORTED) {
+                mismatches.mIndices[mismatches.mReported++] = index;
+            }
+            mismatches.mCount++;
+            return mismatches;
+        }
+
+        /**
+         * @param left  mismatches of elements before ones of right
+         * @param right mismatches of elements after ones of left
+         */
+        static Mismatches merge(Mismatches left, Mismatches right) {
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+            for (int i = 0; i < right.mReported && left.mReported < MAX_REPORTED; i++) {
+                left.mIndices[left.mReported++] = right.mIndices[i];
+            }
+            left.mCount += right.mCount;
+            return left;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.triangleleft.assertdialog;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Stable 64 bit fingerprint of place where assertion failed: FNV-1a hash of top frame, that
+ * doesn't belong to assert classes themselves (so failures raised inside library, e.g. by soft
+ * assertion scope, still point to app code). Hash is computed from chars of class, method and
+ * file names and line number, without building any strings, and doesn't depend on process, so
+ * same assertion has same fingerprint across runs and devices. Only call site itself is hashed,
+ * so fingerprint doesn't change with callers, and can also be taken from single frame, e.g.
+ * {@link FailureReport#getCallSite()}.
+ * <p>
+ * Frame of call site is kept in small table indexed by fingerprint, without locks, so it can be
+ * described as "File.java:42" later, when failure is logged or reported. Table is bounded, site
+ * that collides with newer one is forgotten.
+ */
+public final class CallSiteFingerprint {
+
+    /**
+     * Power of two, so index is taken by mask.
+     */
+    private static final int TABLE_SIZE = 256;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    /**
+     * Mixed in after each name, so moving chars between names changes hash. Can't be a char.
+     */
+    private static final int SEPARATOR = 0x10000;
+
+    private static final AtomicReferenceArray<Site> sSites = new AtomicReferenceArray<>(TABLE_SIZE);
+
+    private CallSiteFingerprint() {
+        // Static use only
+    }
+
+    /**
+     * @param throwable throwable created at place of failure
+     * @return fingerprint of failure place, 0 if stack has no frames outside assert classes
+     */
+    public static long of(Throwable throwable) {
+        return of(CallSites.of(throwable));
+    }
+
+    /**
+     * @param site frame that called assertion (<code>null</code> okay)
+     * @return fingerprint of call site, same as failure there would get, 0 for <code>null</code>
+     */
+    public static long of(StackTraceElement site) {
+        long fingerprint = hash(site);
+        if (fingerprint != 0) {
+            remember(fingerprint, site);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Same as {@link #of(Throwable)}, but call site is not kept for {@link #describe(long)}.
+     */
+    static long hash(Throwable throwable) {
+        return hash(CallSites.of(throwable));
+    }
+
+    private static long hash(StackTraceElement site) {
+        if (site == null) {
+            return 0;
+        }
+        long hash = FNV_OFFSET;
+        hash = mix(hash, site.getClassName());
+        hash = mix(hash, site.getMethodName());
+        hash = mix(hash, site.getFileName());
+        hash = mix(hash, site.getLineNumber());
+        // 0 is reserved for unknown site
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Keep call site of fingerprint for {@link #describe(long)}. If it's already kept, costs
+     * single array read.
+     */
+    static void remember(long fingerprint, Throwable throwable) {
+        if (fingerprint == 0) {
+            return;
+        }
+        int index = indexOf(fingerprint);
+        Site site = sSites.get(index);
+        if (site != null && site.mFingerprint == fingerprint) {
+            return;
+        }
+        StackTraceElement element = CallSites.of(throwable);
+        if (element != null) {
+            sSites.set(index, new Site(fingerprint, element));
+        }
+    }
+
+    private static void remember(long fingerprint, StackTraceElement site) {
+        int index = indexOf(fingerprint);
+        Site kept = sSites.get(index);
+        if (kept == null || kept.mFingerprint != fingerprint) {
+            sSites.set(index, new Site(fingerprint, site));
+        }
+    }
+
+    /**
+     * @param fingerprint fingerprint returned by {@link #of(Throwable)}
+     * @return call site as "File.java:42", or <code>null</code> if it isn't known in this
+     * process (e.g. fingerprint was read from journal), or was replaced in table
+     */
+    public static String describe(long fingerprint) {
+        Site site = sSites.get(indexOf(fingerprint));
+        return site == null || site.mFingerprint != fingerprint ? null : site.getText();
+    }
+
+    /**
+     * @return fingerprint as 16 hex digits
+     */
+    public static String toHex(long fingerprint) {
+        return String.format(Locale.US, "%016x", fingerprint);
+    }
+
+    /**
+     * @return fingerprint in hex, followed by call site text if it's known, for logs
+     */
+    public static String format(long fingerprint) {
+        String text = describe(fingerprint);
+        return text == null ? toHex(fingerprint) : toHex(fingerprint) + " " + text;
+    }
+
+    private static long mix(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash = mix(hash, value.charAt(i));
+            }
+        }
+        return mix(hash, SEPARATOR);
+    }
+
+    private static long mix(long hash, int value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+
+    private static int indexOf(long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & (TABLE_SIZE - 1);
+    }
+
+    /**
+     * Call site, its text is built on first describe, not when fingerprint is taken.
+     */
+    private static final class Site {
+        final long mFingerprint;
+        final StackTraceElement mElement;
+        // Racy, but strings are immutable, so worst case is text built twice
+        private String mText;
+
+        Site(long fingerprint, StackTraceElement element) {
+            mFingerprint = fingerprint;
+            mElement = element;
+        }
+
+        String getText() {
+            String text = mText;
+            if (text == null) {
+                String file = mElement.getFileName() == null ? mElement.getClassName() : mElement.getFileName();
+                text = mElement.getLineNumber() >= 0 ? file + ":" + mElement.getLineNumber() : file;
+                mText = text;
+            }
+            return text;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.triangleleft.assertdialog;
+
+/**
+ * Finds where failed assertion was called from.
+ */
+final class CallSites {
+
+    private static final String PACKAGE = Asserts.class.getPackage().getName();
+
+    private CallSites() {
+        // Static use only
+    }
+
+    /**
+     * @return first frame of throwable, that doesn't belong to assert classes themselves,
+     * or <code>null</code> if there is none
+     */
+    static StackTraceElement of(Throwable throwable) {
+        for (StackTraceElement element : throwable.getStackTrace()) {
+            if (!isOwnFrame(element.getClassName())) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Own classes are ones directly in library package, e.g. app in sub package is not ours.
+     */
+    static boolean isOwnFrame(String className) {
+        return className.startsWith(PACKAGE)
+                && className.length() > PACKAGE.length()
+                && className.charAt(PACKAGE.length()) == '.'
+                && className.indexOf('.', PACKAGE.length() + 1) == -1;
+    }
+}
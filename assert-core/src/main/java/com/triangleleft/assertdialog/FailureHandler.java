@@ -0,0 +1,61 @@
+package com.triangleleft.assertdialog;
+
+/**
+ * Platform specific part of failure handling, plugged into
+ * {@link Asserts#init(Asserts.AssertMode, FailureHandler)}.
+ * Decision what to do (log, throw or show dialog) is made by {@link Asserts} according to
+ * {@link Asserts.AssertMode}, handler only performs it.
+ */
+public interface FailureHandler {
+
+    /**
+     * Write failure to log. Called for every failure, regardless of mode.
+     *
+     * @param message   failure message (<code>null</code> if there is none)
+     * @param throwable failure cause, or throwable capturing place of failure
+     * @param callSite  {@link CallSiteFingerprint} of failure place, 0 if it's unknown
+     */
+    void log(String message, Throwable throwable, long callSite);
+
+    /**
+     * Show failure to user, blocking calling thread until user decides to continue, or until
+     * timeout expires. Called only in {@link Asserts.AssertMode#DIALOG} mode.
+     *
+     * @param message       failure message (<code>null</code> if there is none)
+     * @param timeoutMillis max time to block, 0 to wait until user decides
+     * @return how wait has ended
+     */
+    DialogResult showDialog(String message, long timeoutMillis);
+
+    /**
+     * Show failure to user without blocking calling thread.
+     * Called only in {@link Asserts.AssertMode#DIALOG_ASYNC} mode.
+     *
+     * @param message failure message (<code>null</code> if there is none)
+     * @return false if dialog can't be shown
+     */
+    boolean showDialogAsync(String message);
+
+    /**
+     * Result of {@link #showDialog(String, long)}.
+     */
+    enum DialogResult {
+        /**
+         * User decided to continue.
+         */
+        CONTINUED,
+        /**
+         * Nobody answered in time, or waiting thread was interrupted. Handled according to
+         * {@link AssertConfig#isThrowOnDialogTimeout()}.
+         */
+        TIMED_OUT,
+        /**
+         * Dialog can't be shown, failure is handled as in {@link Asserts.AssertMode#THROW} mode.
+         */
+        UNAVAILABLE,
+        /**
+         * User decided to continue and to ignore further failures of this assertion.
+         */
+        IGNORED
+    }
+}
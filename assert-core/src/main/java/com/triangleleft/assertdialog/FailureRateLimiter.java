@@ -0,0 +1,212 @@
+package com.triangleleft.assertdialog;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits how often failures are reported, so assertion failing in tight loop doesn't flood log.
+ * Each call site has its own token bucket, and there is one global budget on top of them.
+ * Failures over the limit are counted and reported as "N more suppressed" with next failure
+ * that passes. When global budget is exhausted, limiter considers it a storm, and can downgrade
+ * DIALOG mode to LOG until it calms down.
+ * <p>
+ * Limiter is lock-free: every bucket is single atomic "theoretical arrival time" (GCRA), so
+ * failures from many threads don't serialize.
+ */
+public final class FailureRateLimiter {
+
+    /**
+     * Returned by {@link #acquire(StackTraceElement)} if failure has to be suppressed.
+     */
+    static final int SUPPRESSED = -1;
+
+    /**
+     * Sites over that limit share global budget only, so limiter can't grow unbounded.
+     */
+    private static final int MAX_SITES = 1024;
+
+    private final int mSiteBurst;
+    private final long mSiteIntervalNanos;
+    private final Bucket mGlobal;
+    private final AtomicInteger mGlobalSuppressed = new AtomicInteger();
+    private final long mStormCooldownNanos;
+    private final boolean mDowngradeDialogs;
+    private final ConcurrentMap<StackTraceElement, Site> mSites = new ConcurrentHashMap<>();
+    private final AtomicLong mStormUntil;
+
+    private FailureRateLimiter(Builder builder) {
+        mSiteBurst = builder.mSiteBurst;
+        mSiteIntervalNanos = builder.mSiteIntervalNanos;
+        mGlobal = new Bucket(builder.mGlobalBurst, builder.mGlobalIntervalNanos);
+        mStormCooldownNanos = builder.mStormCooldownNanos;
+        mDowngradeDialogs = builder.mDowngradeDialogs;
+        mStormUntil = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Take permit for failure at given call site.
+     *
+     * @param site call site of failure (<code>null</code> okay)
+     * @return {@link #SUPPRESSED} if failure has to be suppressed, otherwise number of failures
+     * suppressed since previous reported one
+     */
+    int acquire(StackTraceElement site) {
+        long now = System.nanoTime();
+
+        Site state = site == null ? null : siteState(site);
+        if (state != null && !state.mBucket.tryAcquire(now)) {
+            state.mSuppressed.incrementAndGet();
+            return SUPPRESSED;
+        }
+
+        if (!mGlobal.tryAcquire(now)) {
+            // Failure isn't reported, so it mustn't cost site its token, or quiet sites would
+            // starve during storm caused by others
+            if (state != null) {
+                state.mBucket.refund();
+            }
+            mStormUntil.set(now + mStormCooldownNanos);
+            (state != null ? state.mSuppressed : mGlobalSuppressed).incrementAndGet();
+            return SUPPRESSED;
+        }
+
+        return (state != null ? state.mSuppressed : mGlobalSuppressed).getAndSet(0);
+    }
+
+    /**
+     * @return true if global budget was exhausted recently
+     */
+    boolean isStorm() {
+        return System.nanoTime() - mStormUntil.get() < 0;
+    }
+
+    /**
+     * @return true if DIALOG failures should be handled as LOG during storm
+     */
+    boolean isDowngradingDialogs() {
+        return mDowngradeDialogs;
+    }
+
+    private Site siteState(StackTraceElement site) {
+        Site state = mSites.get(site);
+        if (state == null) {
+            if (mSites.size() >= MAX_SITES) {
+                return null;
+            }
+            Site created = new Site(new Bucket(mSiteBurst, mSiteIntervalNanos));
+            state = mSites.putIfAbsent(site, created);
+            if (state == null) {
+                state = created;
+            }
+        }
+        return state;
+    }
+
+    private static final class Site {
+        final Bucket mBucket;
+        final AtomicInteger mSuppressed = new AtomicInteger();
+
+        Site(Bucket bucket) {
+            mBucket = bucket;
+        }
+    }
+
+    /**
+     * Token bucket implemented as generic cell rate algorithm: instead of counting tokens it keeps
+     * time at which bucket would be full again, so state fits into one atomic long.
+     */
+    private static final class Bucket {
+        private final long mIntervalNanos;
+        private final long mToleranceNanos;
+        private final AtomicLong mTat = new AtomicLong(Long.MIN_VALUE);
+
+        Bucket(int burst, long intervalNanos) {
+            mIntervalNanos = intervalNanos;
+            mToleranceNanos = intervalNanos * (burst - 1);
+        }
+
+        boolean tryAcquire(long now) {
+            while (true) {
+                long tat = mTat.get();
+                long base = tat == Long.MIN_VALUE || tat - now < 0 ? now : tat;
+                if (base - now > mToleranceNanos) {
+                    return false;
+                }
+                if (mTat.compareAndSet(tat, base + mIntervalNanos)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Give back permit taken by {@link #tryAcquire(long)}.
+         */
+        void refund() {
+            while (true) {
+                long tat = mTat.get();
+                if (mTat.compareAndSet(tat, tat - mIntervalNanos)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link FailureRateLimiter}. By default each call site may report 5 failures
+     * at once and then 1 per second, all sites together 20 at once and then 5 per second.
+     */
+    public static final class Builder {
+
+        private int mSiteBurst = 5;
+        private long mSiteIntervalNanos = TimeUnit.SECONDS.toNanos(1);
+        private int mGlobalBurst = 20;
+        private long mGlobalIntervalNanos = TimeUnit.MILLISECONDS.toNanos(200);
+        private long mStormCooldownNanos = TimeUnit.SECONDS.toNanos(5);
+        private boolean mDowngradeDialogs;
+
+        /**
+         * @param burst    failures that can be reported at once
+         * @param interval time it takes to earn one more failure
+         */
+        public Builder setSiteRate(int burst, long interval, TimeUnit unit) {
+            checkRate(burst, interval);
+            mSiteBurst = burst;
+            mSiteIntervalNanos = unit.toNanos(interval);
+            return this;
+        }
+
+        /**
+         * @param burst    failures that can be reported at once, by all sites together
+         * @param interval time it takes to earn one more failure
+         */
+        public Builder setGlobalRate(int burst, long interval, TimeUnit unit) {
+            checkRate(burst, interval);
+            mGlobalBurst = burst;
+            mGlobalIntervalNanos = unit.toNanos(interval);
+            return this;
+        }
+
+        /**
+         * @param downgrade true to handle DIALOG failures as LOG during storm
+         * @param cooldown  how long storm lasts after global budget was last exhausted
+         */
+        public Builder setDowngradeDialogs(boolean downgrade, long cooldown, TimeUnit unit) {
+            mDowngradeDialogs = downgrade;
+            mStormCooldownNanos = unit.toNanos(cooldown);
+            return this;
+        }
+
+        public FailureRateLimiter build() {
+            return new FailureRateLimiter(this);
+        }
+
+        private static void checkRate(int burst, long interval) {
+            if (burst < 1 || interval < 0) {
+                throw new IllegalArgumentException("Invalid rate: " + burst + " per " + interval);
+            }
+        }
+    }
+}
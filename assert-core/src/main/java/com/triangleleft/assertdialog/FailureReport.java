@@ -0,0 +1,76 @@
+package com.triangleleft.assertdialog;
+
+/**
+ * Failure as it's passed to {@link FailureReporter}. Captured on failing thread, so it's cheap
+ * to create: stack is kept as throwable and turned into text only by reporter.
+ */
+public final class FailureReport {
+
+    private final long mTimestamp;
+    private final String mThreadName;
+    private final Asserts.AssertMode mMode;
+    private final String mMessage;
+    private final Throwable mThrowable;
+    private final StackTraceElement mCallSite;
+    private final long mFingerprint;
+
+    FailureReport(long timestamp, String threadName, Asserts.AssertMode mode, String message,
+                  Throwable throwable, StackTraceElement callSite, long fingerprint) {
+        mTimestamp = timestamp;
+        mThreadName = threadName;
+        mMode = mode;
+        mMessage = message;
+        mThrowable = throwable;
+        mCallSite = callSite;
+        mFingerprint = fingerprint;
+    }
+
+    /**
+     * @return time of failure, in {@link System#currentTimeMillis()} units
+     */
+    public long getTimestamp() {
+        return mTimestamp;
+    }
+
+    /**
+     * @return name of failed thread
+     */
+    public String getThreadName() {
+        return mThreadName;
+    }
+
+    /**
+     * @return mode failure was handled in
+     */
+    public Asserts.AssertMode getMode() {
+        return mMode;
+    }
+
+    /**
+     * @return failure message, or <code>null</code> if there is none
+     */
+    public String getMessage() {
+        return mMessage;
+    }
+
+    /**
+     * @return failure cause, or throwable capturing place of failure
+     */
+    public Throwable getThrowable() {
+        return mThrowable;
+    }
+
+    /**
+     * @return frame that called assertion, or <code>null</code> if it's unknown
+     */
+    public StackTraceElement getCallSite() {
+        return mCallSite;
+    }
+
+    /**
+     * @return {@link CallSiteFingerprint} of failure place, 0 if it's unknown
+     */
+    public long getFingerprint() {
+        return mFingerprint;
+    }
+}
@@ -0,0 +1,17 @@
+package com.triangleleft.assertdialog;
+
+import java.util.List;
+
+/**
+ * Receives failures in batches, e.g. to send them to server. Plugged in through
+ * {@link ReportDispatcher}, which calls it on its own background thread, so reporter may block.
+ */
+public interface FailureReporter {
+
+    /**
+     * @param reports failures since previous call, oldest first (may be empty if only drops
+     *                happened)
+     * @param dropped number of failures dropped since previous call, because queue was full
+     */
+    void report(List<FailureReport> reports, long dropped);
+}
@@ -0,0 +1,296 @@
+package com.triangleleft.assertdialog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reporter that POSTs failure batches as JSON to given endpoint. Body is written without
+ * whitespace, unknown values are <code>null</code>, fingerprint is hex string:
+ * <pre>
+ * {"dropped":0,"failures":[{"timestamp":1457000000000,"thread":"main","mode":"LOG",
+ * "message":"...","site":"com.example.Foo.bar(Foo.java:42)","fingerprint":"3f2a9c0d1b2e4f56",
+ * "stack":["...","..."]}]}
+ * </pre>
+ * If batch can't be sent, e.g. device is offline, it's saved to retry dir, and sent before next
+ * batch. 2xx response means batch is delivered. Only 408, 429 and 5xx responses are retried,
+ * any other (e.g. 4xx, or redirect, which isn't followed) means server would never take batch,
+ * so it's dropped.
+ */
+public final class HttpFailureReporter implements FailureReporter {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String RETRY_SUFFIX = ".json";
+
+    private final URL mEndpoint;
+    private final File mRetryDir;
+    private final int mMaxRetryBatches;
+    private final int mTimeoutMillis;
+    // Accessed on dispatcher thread only
+    private int mRetryCounter;
+
+    private HttpFailureReporter(Builder builder) {
+        mEndpoint = builder.mEndpoint;
+        mRetryDir = builder.mRetryDir;
+        mMaxRetryBatches = builder.mMaxRetryBatches;
+        mTimeoutMillis = builder.mTimeoutMillis;
+    }
+
+    @Override
+    public void report(List<FailureReport> reports, long dropped) {
+        byte[] body = toJson(reports, dropped).getBytes(UTF_8);
+        // Keep order, and don't waste time on new batch if we are still offline
+        if (resendSaved() && post(body)) {
+            return;
+        }
+        save(body);
+    }
+
+    /**
+     * @return true if all saved batches were sent
+     */
+    private boolean resendSaved() {
+        File[] saved = listSaved();
+        if (saved == null) {
+            return true;
+        }
+        for (File file : saved) {
+            byte[] body;
+            try {
+                body = readFile(file);
+            } catch (IOException e) {
+                // Broken file, nothing to retry
+                file.delete();
+                continue;
+            }
+            if (!post(body)) {
+                return false;
+            }
+            file.delete();
+        }
+        return true;
+    }
+
+    /**
+     * @return true if batch doesn't need to be retried
+     */
+    private boolean post(byte[] body) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) mEndpoint.openConnection();
+            connection.setConnectTimeout(mTimeoutMillis);
+            connection.setReadTimeout(mTimeoutMillis);
+            // Redirected POST would turn into GET, or fail on streamed body
+            connection.setInstanceFollowRedirects(false);
+            connection.setRequestMethod("POST");
+            connection.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+            connection.setDoOutput(true);
+            connection.setFixedLengthStreamingMode(body.length);
+            OutputStream out = connection.getOutputStream();
+            try {
+                out.write(body);
+            } finally {
+                out.close();
+            }
+            int code = connection.getResponseCode();
+            return code != 408 && code != 429 && code < 500;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    private void save(byte[] body) {
+        if (mRetryDir == null || (!mRetryDir.isDirectory() && !mRetryDir.mkdirs())) {
+            return;
+        }
+        File[] saved = listSaved();
+        if (saved != null) {
+            // Drop oldest batches over the limit
+            for (int i = 0; i <= saved.length - mMaxRetryBatches; i++) {
+                saved[i].delete();
+            }
+        }
+
+        // Names sort in order of saving
+        String name = String.format(Locale.US, "%013d-%04d", System.currentTimeMillis(), mRetryCounter++ % 10000);
+        File temp = new File(mRetryDir, name + ".tmp");
+        try {
+            OutputStream out = new FileOutputStream(temp);
+            try {
+                out.write(body);
+            } finally {
+                out.close();
+            }
+            // Rename, so half written batch is never sent
+            if (!temp.renameTo(new File(mRetryDir, name + RETRY_SUFFIX))) {
+                temp.delete();
+            }
+        } catch (IOException e) {
+            temp.delete();
+        }
+    }
+
+    private File[] listSaved() {
+        if (mRetryDir == null) {
+            return null;
+        }
+        File[] files = mRetryDir.listFiles();
+        if (files == null) {
+            return null;
+        }
+        int count = 0;
+        for (File file : files) {
+            if (file.getName().endsWith(RETRY_SUFFIX)) {
+                files[count++] = file;
+            }
+        }
+        File[] saved = Arrays.copyOf(files, count);
+        Arrays.sort(saved);
+        return saved;
+    }
+
+    private static byte[] readFile(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    static String toJson(List<FailureReport> reports, long dropped) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"dropped\":").append(dropped).append(",\"failures\":[");
+        for (int i = 0; i < reports.size(); i++) {
+            FailureReport report = reports.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"timestamp\":").append(report.getTimestamp());
+            json.append(",\"thread\":");
+            appendString(json, report.getThreadName());
+            json.append(",\"mode\":");
+            appendString(json, report.getMode().name());
+            json.append(",\"message\":");
+            appendString(json, report.getMessage());
+            json.append(",\"site\":");
+            appendString(json, report.getCallSite() == null ? null : report.getCallSite().toString());
+            json.append(",\"fingerprint\":");
+            // As string, JSON numbers can't hold all 64 bits
+            appendString(json, report.getFingerprint() == 0 ? null : CallSiteFingerprint.toHex(report.getFingerprint()));
+            json.append(",\"stack\":[");
+            StackTraceElement[] stack = report.getThrowable().getStackTrace();
+            for (int j = 0; j < stack.length; j++) {
+                if (j > 0) {
+                    json.append(',');
+                }
+                appendString(json, stack[j].toString());
+            }
+            json.append("]}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format(Locale.US, "\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * Builder for {@link HttpFailureReporter}. By default there is no retry dir, so batches that
+     * can't be sent are dropped, and network timeout is 15 seconds.
+     */
+    public static final class Builder {
+
+        private final URL mEndpoint;
+        private File mRetryDir;
+        private int mMaxRetryBatches = 100;
+        private int mTimeoutMillis = (int) TimeUnit.SECONDS.toMillis(15);
+
+        /**
+         * @param endpoint url to POST batches to
+         */
+        public Builder(URL endpoint) {
+            if (endpoint == null) {
+                throw new IllegalArgumentException("Endpoint can't be null");
+            }
+            mEndpoint = endpoint;
+        }
+
+        /**
+         * @param retryDir   dir to keep batches that can't be sent yet, e.g. in app cache dir
+         * @param maxBatches max number of kept batches, oldest are dropped first
+         */
+        public Builder setRetryDir(File retryDir, int maxBatches) {
+            if (maxBatches <= 0) {
+                throw new IllegalArgumentException("Max batches must be positive");
+            }
+            mRetryDir = retryDir;
+            mMaxRetryBatches = maxBatches;
+            return this;
+        }
+
+        /**
+         * @param timeout connect and read timeout
+         */
+        public Builder setTimeout(long timeout, TimeUnit unit) {
+            mTimeoutMillis = (int) Math.min(Integer.MAX_VALUE, unit.toMillis(timeout));
+            return this;
+        }
+
+        public HttpFailureReporter build() {
+            return new HttpFailureReporter(this);
+        }
+    }
+}
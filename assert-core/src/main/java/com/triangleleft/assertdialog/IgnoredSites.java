@@ -0,0 +1,275 @@
+package com.triangleleft.assertdialog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Call sites of assertions, that user asked to ignore, identified by their
+ * {@link CallSiteFingerprint}s.
+ * Failure of ignored site still creates throwable to find its call site, and Java can't capture
+ * only top frames, so that is its main cost. Failed assertion looks site up before its message
+ * is built, so values are not formatted, and returns right after lookup, before anything is
+ * logged or dialog is shown.
+ * <p>
+ * Ids are kept in open addressing table of longs, replaced as whole on change. Changes are rare
+ * (user presses button), so lookups read single volatile field and never lock.
+ * <p>
+ * Set can be backed by file. File is loaded and rewritten on background thread, sites ignored
+ * before loading has finished are merged with loaded ones.
+ */
+public final class IgnoredSites {
+
+    private static final int MAGIC = 0x41534931;
+    private static final int MIN_CAPACITY = 16;
+
+    private final File mFile;
+    private final Executor mExecutor;
+    /**
+     * Table of ids, 0 marks empty slot. Kept at most half full, so lookup always ends.
+     */
+    private volatile long[] mTable = new long[MIN_CAPACITY];
+    private volatile int mSize;
+
+    /**
+     * Create set kept in memory only.
+     */
+    public IgnoredSites() {
+        this(null);
+    }
+
+    private IgnoredSites(File file) {
+        mFile = file;
+        mExecutor = file == null ? null : new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "AssertIgnoredSites");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Create set backed by file. Doesn't block, file is loaded on background thread.
+     *
+     * @param file file to keep ids in, created on first change
+     */
+    public static IgnoredSites open(File file) {
+        if (file == null) {
+            throw new IllegalArgumentException("File can't be null");
+        }
+        final IgnoredSites sites = new IgnoredSites(file);
+        sites.mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                sites.load();
+            }
+        });
+        return sites;
+    }
+
+    /**
+     * @return true if no site is ignored
+     */
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    /**
+     * @return number of ignored sites
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * @param callSite id of call site
+     * @return true if failures of this site are ignored
+     */
+    public boolean contains(long callSite) {
+        long[] table = mTable;
+        int mask = table.length - 1;
+        for (int i = indexOf(callSite, mask); table[i] != 0; i = (i + 1) & mask) {
+            if (table[i] == callSite) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Start ignoring failures of call site.
+     *
+     * @param callSite id of call site, 0 (unknown site) is not added
+     * @return false if site is unknown or already ignored
+     */
+    public boolean add(long callSite) {
+        if (callSite == 0) {
+            return false;
+        }
+        synchronized (this) {
+            if (!put(callSite)) {
+                return false;
+            }
+        }
+        save();
+        return true;
+    }
+
+    /**
+     * Stop ignoring failures of call site.
+     *
+     * @param callSite id of call site
+     * @return false if site wasn't ignored
+     */
+    public boolean remove(long callSite) {
+        synchronized (this) {
+            if (!contains(callSite)) {
+                return false;
+            }
+            long[] table = mTable;
+            long[] updated = new long[table.length];
+            for (long id : table) {
+                if (id != 0 && id != callSite) {
+                    insert(updated, id);
+                }
+            }
+            mTable = updated;
+            mSize--;
+        }
+        save();
+        return true;
+    }
+
+    /**
+     * Stop ignoring all call sites.
+     */
+    public void clear() {
+        synchronized (this) {
+            mTable = new long[MIN_CAPACITY];
+            mSize = 0;
+        }
+        save();
+    }
+
+    /**
+     * Publish copy of table with id added, must be called under lock.
+     *
+     * @return false if id is already there
+     */
+    private boolean put(long callSite) {
+        if (contains(callSite)) {
+            return false;
+        }
+        long[] table = mTable;
+        long[] updated = new long[(mSize + 1) * 2 > table.length ? table.length * 2 : table.length];
+        for (long id : table) {
+            if (id != 0) {
+                insert(updated, id);
+            }
+        }
+        insert(updated, callSite);
+        mTable = updated;
+        mSize++;
+        return true;
+    }
+
+    private static void insert(long[] table, long callSite) {
+        int mask = table.length - 1;
+        int i = indexOf(callSite, mask);
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = callSite;
+    }
+
+    private static int indexOf(long callSite, int mask) {
+        int hash = (int) (callSite ^ (callSite >>> 32)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void load() {
+        if (!mFile.isFile()) {
+            return;
+        }
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(mFile)));
+            try {
+                if (in.readInt() != MAGIC) {
+                    return;
+                }
+                for (int count = in.readInt(); count > 0; count--) {
+                    long callSite = in.readLong();
+                    if (callSite != 0) {
+                        synchronized (this) {
+                            put(callSite);
+                        }
+                    }
+                }
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            // Broken or truncated file, keep what was read
+        }
+    }
+
+    /**
+     * Rewrite file with current ids. Writes are queued after loading, so loaded ids are never
+     * overwritten.
+     */
+    private void save() {
+        if (mFile == null) {
+            return;
+        }
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                write();
+            }
+        });
+    }
+
+    private void write() {
+        long[] table;
+        int size;
+        synchronized (this) {
+            table = mTable;
+            size = mSize;
+        }
+        File temp = new File(mFile.getPath() + ".tmp");
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+            try {
+                out.writeInt(MAGIC);
+                out.writeInt(size);
+                for (long id : table) {
+                    if (id != 0) {
+                        out.writeLong(id);
+                    }
+                }
+            } finally {
+                out.close();
+            }
+            // Rename, so half written file is never loaded
+            if (!temp.renameTo(mFile)) {
+                temp.delete();
+            }
+        } catch (IOException e) {
+            temp.delete();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.triangleleft.assertdialog;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Builds failure messages. Used only on failure path, so passing assertions never pay for
+ * message building.
+ * Messages are built in per-thread reusable {@link StringBuilder}.
+ */
+final class MessageFormatter {
+
+    private static final String PLACEHOLDER = "{}";
+    /**
+     * Builders that grew larger than that are not reused, so we don't hold huge buffers forever.
+     */
+    private static final int MAX_REUSED_CAPACITY = 4096;
+    /**
+     * Values with longer string representation are truncated.
+     */
+    static final int MAX_VALUE_LENGTH = 1000;
+    /**
+     * Collections, maps and arrays are rendered only up to that many elements, so huge ones are
+     * never turned into text whole.
+     */
+    static final int MAX_ELEMENTS = 50;
+
+    private static final ThreadLocal<StringBuilder> sBuilder = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(256);
+        }
+    };
+
+    private MessageFormatter() {
+        // Static use only
+    }
+
+    /**
+     * Take builder of current thread. It has to be returned with {@link #release(StringBuilder)}.
+     * Formatting can be re-entered (e.g. if some toString() fails assertion itself), in that case
+     * fresh builder is returned.
+     */
+    static StringBuilder acquire() {
+        StringBuilder builder = sBuilder.get();
+        if (builder == null) {
+            return new StringBuilder();
+        }
+        sBuilder.set(null);
+        builder.setLength(0);
+        return builder;
+    }
+
+    /**
+     * Return builder taken by {@link #acquire()}.
+     *
+     * @return builder content
+     */
+    static String release(StringBuilder builder) {
+        String result = builder.toString();
+        if (builder.capacity() <= MAX_REUSED_CAPACITY) {
+            sBuilder.set(builder);
+        }
+        return result;
+    }
+
+    /**
+     * Append message, replacing each <code>{}</code> in template with next argument.
+     * If there is no arguments, template is appended as is. Excess arguments are ignored.
+     *
+     * @param builder  builder to append to
+     * @param template message template (<code>null</code> okay)
+     * @param args     template arguments (<code>null</code> okay)
+     */
+    static void appendMessage(StringBuilder builder, String template, Object[] args) {
+        if (args == null || args.length == 0 || template == null) {
+            builder.append(template);
+            return;
+        }
+
+        int start = 0;
+        int argIndex = 0;
+        while (argIndex < args.length) {
+            int placeholder = template.indexOf(PLACEHOLDER, start);
+            if (placeholder == -1) {
+                break;
+            }
+            builder.append(template, start, placeholder);
+            appendValue(builder, args[argIndex++]);
+            start = placeholder + PLACEHOLDER.length();
+        }
+        builder.append(template, start, template.length());
+    }
+
+    /**
+     * @return message rendered from template, or <code>null</code> if template is <code>null</code>
+     */
+    static String format(String template, Object[] args) {
+        if (template == null) {
+            return null;
+        }
+        if (args == null) {
+            return template;
+        }
+        StringBuilder builder = acquire();
+        appendMessage(builder, template, args);
+        return release(builder);
+    }
+
+    /**
+     * @return string representation of value, bounded in length
+     */
+    static String valueOf(Object value) {
+        StringBuilder builder = new StringBuilder();
+        appendValue(builder, value);
+        return builder.toString();
+    }
+
+    /**
+     * Append bounded string representation of value. Large collections and maps, and all arrays,
+     * are rendered partially, without calling their toString(). String of any other value is
+     * truncated.
+     */
+    static void appendValue(StringBuilder builder, Object value) {
+        if (value instanceof Collection && ((Collection<?>) value).size() > MAX_ELEMENTS) {
+            Collection<?> collection = (Collection<?>) value;
+            builder.append('[');
+            int count = 0;
+            for (Object element : collection) {
+                if (count == MAX_ELEMENTS) {
+                    break;
+                }
+                if (count++ > 0) {
+                    builder.append(", ");
+                }
+                builder.append(element == collection ? "(this Collection)" : truncate(String.valueOf(element)));
+            }
+            builder.append(", ... (").append(collection.size()).append(" elements)]");
+            return;
+        }
+        if (value instanceof Map && ((Map<?, ?>) value).size() > MAX_ELEMENTS) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            builder.append('{');
+            int count = 0;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (count == MAX_ELEMENTS) {
+                    break;
+                }
+                if (count++ > 0) {
+                    builder.append(", ");
+                }
+                builder.append(entry.getKey() == map ? "(this Map)" : truncate(String.valueOf(entry.getKey())))
+                        .append('=')
+                        .append(entry.getValue() == map ? "(this Map)" : truncate(String.valueOf(entry.getValue())));
+            }
+            builder.append(", ... (").append(map.size()).append(" entries)}");
+            return;
+        }
+        if (value != null && value.getClass().isArray()) {
+            // Arrays have identity toString(), so render contents, as assertArrayEquals does
+            int length = Array.getLength(value);
+            builder.append('[');
+            for (int i = 0; i < length && i < MAX_ELEMENTS; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                Object element = Array.get(value, i);
+                builder.append(element == value ? "(this Array)" : truncate(String.valueOf(element)));
+            }
+            if (length > MAX_ELEMENTS) {
+                builder.append(", ... (").append(length).append(" elements)");
+            }
+            builder.append(']');
+            return;
+        }
+        builder.append(truncate(String.valueOf(value)));
+    }
+
+    private static String truncate(String value) {
+        if (value.length() <= MAX_VALUE_LENGTH) {
+            return value;
+        }
+        return value.substring(0, MAX_VALUE_LENGTH) + "... (" + value.length() + " chars)";
+    }
+}
@@ -0,0 +1,79 @@
+package com.triangleleft.assertdialog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and single consumer.
+ * Producers claim slot with CAS on tail, consumer is the only one moving head.
+ *
+ * @param <E> element type
+ */
+final class MpscQueue<E> {
+
+    private final AtomicReferenceArray<E> mBuffer;
+    private final int mMask;
+    private final AtomicLong mTail = new AtomicLong();
+    /**
+     * Written by consumer only.
+     */
+    private volatile long mHead;
+
+    /**
+     * @param capacity max number of elements, rounded up to power of two
+     */
+    MpscQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        mBuffer = new AtomicReferenceArray<>(size);
+        mMask = size - 1;
+    }
+
+    /**
+     * Add element, can be called from any thread.
+     *
+     * @return false if queue is full
+     */
+    boolean offer(E element) {
+        while (true) {
+            long tail = mTail.get();
+            if (tail - mHead > mMask) {
+                return false;
+            }
+            if (mTail.compareAndSet(tail, tail + 1)) {
+                mBuffer.lazySet((int) tail & mMask, element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Take element, consumer thread only.
+     *
+     * @return head element, or <code>null</code> if queue is empty
+     */
+    E poll() {
+        long head = mHead;
+        int index = (int) head & mMask;
+        // Null also while producer has claimed slot, but hasn't stored element yet
+        E element = mBuffer.get(index);
+        if (element == null) {
+            return null;
+        }
+        mBuffer.lazySet(index, null);
+        mHead = head + 1;
+        return element;
+    }
+
+    /**
+     * @return approximate number of elements
+     */
+    int size() {
+        return (int) (mTail.get() - mHead);
+    }
+}
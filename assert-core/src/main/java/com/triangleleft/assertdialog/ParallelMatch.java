@@ -0,0 +1,64 @@
+package com.triangleleft.assertdialog;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join part of {@link BulkMatch}. Kept in separate class, so it's loaded only on platforms
+ * that have fork-join pool.
+ */
+final class ParallelMatch {
+
+    /**
+     * Elements checked by single task without further splitting.
+     */
+    private static final int LEAF_SIZE = 2048;
+
+    private ParallelMatch() {
+        // Static use only
+    }
+
+    static <T> BulkMatch.Mismatches scan(List<T> list, Asserts.Predicate<? super T> predicate, boolean expected) {
+        return Holder.POOL.invoke(new ScanTask<>(list, 0, list.size(), predicate, expected));
+    }
+
+    private static final class ScanTask<T> extends RecursiveTask<BulkMatch.Mismatches> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> mList;
+        private final int mFrom;
+        private final int mTo;
+        private final Asserts.Predicate<? super T> mPredicate;
+        private final boolean mExpected;
+
+        ScanTask(List<T> list, int from, int to, Asserts.Predicate<? super T> predicate, boolean expected) {
+            mList = list;
+            mFrom = from;
+            mTo = to;
+            mPredicate = predicate;
+            mExpected = expected;
+        }
+
+        @Override
+        protected BulkMatch.Mismatches compute() {
+            if (mTo - mFrom <= LEAF_SIZE) {
+                return BulkMatch.scan(mList, mFrom, mTo, mPredicate, mExpected);
+            }
+            int middle = (mFrom + mTo) >>> 1;
+            ScanTask<T> left = new ScanTask<>(mList, mFrom, middle, mPredicate, mExpected);
+            left.fork();
+            BulkMatch.Mismatches right =
+                    new ScanTask<>(mList, middle, mTo, mPredicate, mExpected).compute();
+            return BulkMatch.Mismatches.merge(left.join(), right);
+        }
+    }
+
+    /**
+     * Lazy holder, pool is created on first large check.
+     */
+    private static final class Holder {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+}
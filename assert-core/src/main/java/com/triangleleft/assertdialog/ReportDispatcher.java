@@ -0,0 +1,158 @@
+package com.triangleleft.assertdialog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Passes failures to {@link FailureReporter} on single background thread.
+ * Failing thread only puts report into bounded lock-free queue. Background thread drains it in
+ * batches: when batch is full, or when flush interval passes. When queue is full, new failures
+ * are dropped and their number is passed to reporter with next batch.
+ */
+public final class ReportDispatcher {
+
+    private final FailureReporter mReporter;
+    private final MpscQueue<FailureReport> mQueue;
+    private final int mBatchSize;
+    private final long mFlushIntervalNanos;
+    private final AtomicLong mDropped = new AtomicLong();
+    private final Thread mThread;
+    private volatile boolean mClosed;
+
+    private ReportDispatcher(Builder builder) {
+        mReporter = builder.mReporter;
+        mQueue = new MpscQueue<>(builder.mQueueCapacity);
+        mBatchSize = builder.mBatchSize;
+        mFlushIntervalNanos = builder.mFlushIntervalNanos;
+        mThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                loop();
+            }
+        }, "AssertReporter");
+        mThread.setDaemon(true);
+        mThread.setPriority(Thread.MIN_PRIORITY);
+        mThread.start();
+    }
+
+    /**
+     * Queue failure for reporting, never blocks.
+     */
+    void dispatch(FailureReport report) {
+        if (!mQueue.offer(report)) {
+            mDropped.incrementAndGet();
+            return;
+        }
+        if (mQueue.size() >= mBatchSize) {
+            LockSupport.unpark(mThread);
+        }
+    }
+
+    /**
+     * @return failures dropped so far, that were not passed to reporter yet
+     */
+    public long getDroppedCount() {
+        return mDropped.get();
+    }
+
+    /**
+     * Report queued failures and stop background thread. Failures dispatched after that are
+     * dropped silently.
+     */
+    public void close() {
+        mClosed = true;
+        LockSupport.unpark(mThread);
+    }
+
+    private void loop() {
+        while (!mClosed) {
+            drain();
+            LockSupport.parkNanos(this, mFlushIntervalNanos);
+        }
+        drain();
+    }
+
+    private void drain() {
+        List<FailureReport> batch = new ArrayList<>(mBatchSize);
+        FailureReport report;
+        while ((report = mQueue.poll()) != null) {
+            batch.add(report);
+            if (batch.size() == mBatchSize) {
+                deliver(batch);
+                batch = new ArrayList<>(mBatchSize);
+            }
+        }
+        if (!batch.isEmpty() || mDropped.get() > 0) {
+            deliver(batch);
+        }
+    }
+
+    private void deliver(List<FailureReport> batch) {
+        try {
+            mReporter.report(batch, mDropped.getAndSet(0));
+        } catch (RuntimeException e) {
+            // Broken reporter must not stop dispatching, and there is nobody to tell about it
+        }
+    }
+
+    /**
+     * Builder for {@link ReportDispatcher}. Reporter is required. By default queue holds 256
+     * failures, batch is up to 32 failures, and queue is flushed every 5 seconds.
+     * Background thread is started by {@link #build()}.
+     */
+    public static final class Builder {
+
+        private FailureReporter mReporter;
+        private int mQueueCapacity = 256;
+        private int mBatchSize = 32;
+        private long mFlushIntervalNanos = TimeUnit.SECONDS.toNanos(5);
+
+        public Builder setReporter(FailureReporter reporter) {
+            mReporter = reporter;
+            return this;
+        }
+
+        /**
+         * @param capacity max number of queued failures, rounded up to power of two
+         */
+        public Builder setQueueCapacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Capacity must be positive");
+            }
+            mQueueCapacity = capacity;
+            return this;
+        }
+
+        /**
+         * @param batchSize max number of failures passed to reporter at once
+         */
+        public Builder setBatchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("Batch size must be positive");
+            }
+            mBatchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * @param interval how long failures may wait in queue for batch to fill up
+         */
+        public Builder setFlushInterval(long interval, TimeUnit unit) {
+            if (interval <= 0) {
+                throw new IllegalArgumentException("Interval must be positive");
+            }
+            mFlushIntervalNanos = unit.toNanos(interval);
+            return this;
+        }
+
+        public ReportDispatcher build() {
+            if (mReporter == null) {
+                throw new IllegalStateException("Reporter is not set");
+            }
+            return new ReportDispatcher(this);
+        }
+    }
+}
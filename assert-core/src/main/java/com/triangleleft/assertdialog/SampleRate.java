@@ -0,0 +1,108 @@
+package com.triangleleft.assertdialog;
+
+/**
+ * How often sampled assertions are evaluated, see
+ * {@link Asserts#assertSampled(AssertTag, String, Asserts.Invariant)}.
+ * Decision is made with per-thread counter or random generator, so threads don't contend.
+ */
+public final class SampleRate {
+
+    /**
+     * Evaluate on every call. Default.
+     */
+    public static final SampleRate ALWAYS = new SampleRate(1, 0);
+    /**
+     * Never evaluate.
+     */
+    public static final SampleRate NEVER = new SampleRate(0, 0);
+
+    private static final ThreadLocal<long[]> RANDOM = new ThreadLocal<long[]>() {
+        @Override
+        protected long[] initialValue() {
+            long seed = System.nanoTime() ^ (Thread.currentThread().getId() * 0x9E3779B97F4A7C15L);
+            return new long[]{seed == 0 ? 1 : seed};
+        }
+    };
+
+    private final int mEvery;
+    /**
+     * Probability scaled to 53 bits, 0 if rate is not random.
+     */
+    private final long mThreshold;
+    private final double mProbability;
+    private final ThreadLocal<int[]> mCounter;
+
+    private SampleRate(int every, double probability) {
+        mEvery = every;
+        mProbability = probability;
+        mThreshold = (long) (probability * (1L << 53));
+        mCounter = every > 1 ? new ThreadLocal<int[]>() {
+            @Override
+            protected int[] initialValue() {
+                return new int[1];
+            }
+        } : null;
+    }
+
+    /**
+     * @param n evaluate on every Nth call, counted separately in each thread
+     */
+    public static SampleRate everyNth(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("N must be positive");
+        }
+        return n == 1 ? ALWAYS : new SampleRate(n, 0);
+    }
+
+    /**
+     * @param p probability of evaluating on each call, from 0 to 1
+     */
+    public static SampleRate probability(double p) {
+        if (!(p >= 0 && p <= 1)) {
+            throw new IllegalArgumentException("Probability must be in [0, 1]: " + p);
+        }
+        if (p == 0) {
+            return NEVER;
+        }
+        if (p == 1) {
+            return ALWAYS;
+        }
+        return new SampleRate(-1, p);
+    }
+
+    /**
+     * @return true if this call should be evaluated
+     */
+    boolean sample() {
+        if (mEvery == 1) {
+            return true;
+        }
+        if (mEvery == 0) {
+            return false;
+        }
+        if (mCounter != null) {
+            int[] counter = mCounter.get();
+            if (++counter[0] < mEvery) {
+                return false;
+            }
+            counter[0] = 0;
+            return true;
+        }
+        // xorshift64*
+        long[] state = RANDOM.get();
+        long x = state[0];
+        x ^= x >>> 12;
+        x ^= x << 25;
+        x ^= x >>> 27;
+        state[0] = x;
+        return ((x * 0x2545F4914F6CDD1DL) >>> 11) < mThreshold;
+    }
+
+    @Override
+    public String toString() {
+        if (mEvery >= 0) {
+            return mEvery == 0 ? "never" : "every " + mEvery;
+        }
+        return "p=" + mProbability;
+    }
+}
@@ -0,0 +1,264 @@
+package com.triangleleft.assertdialog;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Captures thread dump, and optionally heap dump, when assertion fails. Failing thread only
+ * checks cooldowns and hands request over, dumps are written by single low priority background
+ * thread. While snapshot is being written, new failures don't trigger another one.
+ * <p>
+ * Thread dump is taken on background thread, few milliseconds after failure. Thread blocked by
+ * DIALOG is still at failure by then. Note that heap dump suspends whole VM while it's written,
+ * so keep its cooldown long.
+ * <p>
+ * Snapshots are kept in their own dir, oldest are deleted when total size exceeds quota.
+ */
+public final class SnapshotCapture {
+
+    private static final String THREADS_SUFFIX = "-threads.txt";
+    private static final String HEAP_SUFFIX = ".hprof";
+    /**
+     * Cooldown value for dumps that are turned off.
+     */
+    private static final long DISABLED = -1;
+    /**
+     * Pending while failing thread checks cooldowns, so only one thread spends them.
+     */
+    private static final Request CLAIMED = new Request(null, null, 0, false, false);
+
+    private final File mDir;
+    private final SnapshotDumper mDumper;
+    private final long mThreadCooldownNanos;
+    private final long mHeapCooldownNanos;
+    private final long mQuotaBytes;
+    private final AtomicLong mLastThreadDump = new AtomicLong();
+    private final AtomicLong mLastHeapDump = new AtomicLong();
+    private final AtomicReference<Request> mPending = new AtomicReference<>();
+    private final Thread mThread;
+    private volatile boolean mClosed;
+
+    private SnapshotCapture(Builder builder) {
+        mDir = builder.mDir;
+        mDumper = builder.mDumper;
+        mThreadCooldownNanos = builder.mThreadCooldownNanos;
+        mHeapCooldownNanos = builder.mHeapCooldownNanos;
+        mQuotaBytes = builder.mQuotaBytes;
+        mThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                loop();
+            }
+        }, "AssertSnapshot");
+        mThread.setDaemon(true);
+        mThread.setPriority(Thread.MIN_PRIORITY);
+        mThread.start();
+    }
+
+    /**
+     * Request snapshot for failure, never blocks. Does nothing if previous snapshot is still
+     * being written, or if cooldowns haven't passed yet.
+     */
+    void capture(String message) {
+        // Claim request first, so thread that loses race doesn't spend cooldowns
+        if (mClosed || mPending.get() != null || !mPending.compareAndSet(null, CLAIMED)) {
+            return;
+        }
+        long now = System.nanoTime();
+        boolean threads = claim(mLastThreadDump, mThreadCooldownNanos, now);
+        boolean heap = claim(mLastHeapDump, mHeapCooldownNanos, now);
+        if (!threads && !heap) {
+            mPending.set(null);
+            return;
+        }
+        mPending.set(new Request(message, Thread.currentThread(), System.currentTimeMillis(), threads, heap));
+        LockSupport.unpark(mThread);
+    }
+
+    /**
+     * @return dir snapshots are written to
+     */
+    public File getDir() {
+        return mDir;
+    }
+
+    /**
+     * Stop background thread. Snapshot being written is finished, failures after that don't
+     * trigger new ones.
+     */
+    public void close() {
+        mClosed = true;
+        LockSupport.unpark(mThread);
+    }
+
+    private static boolean claim(AtomicLong last, long cooldownNanos, long now) {
+        if (cooldownNanos == DISABLED) {
+            return false;
+        }
+        long previous = last.get();
+        // Zero means dump was never taken
+        if (previous != 0 && now - previous < cooldownNanos) {
+            return false;
+        }
+        return last.compareAndSet(previous, now == 0 ? 1 : now);
+    }
+
+    private void loop() {
+        while (!mClosed) {
+            Request request = mPending.get();
+            if (request == null || request == CLAIMED) {
+                LockSupport.park(this);
+                continue;
+            }
+            try {
+                write(request);
+            } catch (RuntimeException e) {
+                // Broken dumper must not stop capturing, and there is nobody to tell about it
+            }
+            mPending.set(null);
+        }
+    }
+
+    private void write(Request request) {
+        if (!mDir.isDirectory() && !mDir.mkdirs()) {
+            return;
+        }
+        // Names sort in order of failures
+        String name = String.format(Locale.US, "%013d", request.mTimestamp);
+        if (request.mThreads) {
+            File file = new File(mDir, name + THREADS_SUFFIX);
+            try {
+                mDumper.dumpThreads(file, request.mMessage, request.mThread, request.mTimestamp);
+            } catch (IOException e) {
+                file.delete();
+            }
+            trim();
+        }
+        // Don't even start heap dump, that can't fit
+        Runtime runtime = Runtime.getRuntime();
+        long heapSize = runtime.totalMemory() - runtime.freeMemory();
+        if (request.mHeap && heapSize < mQuotaBytes && heapSize < mDir.getUsableSpace()) {
+            File file = new File(mDir, name + HEAP_SUFFIX);
+            try {
+                if (!mDumper.dumpHeap(file)) {
+                    file.delete();
+                }
+            } catch (IOException e) {
+                file.delete();
+            }
+            trim();
+        }
+    }
+
+    /**
+     * Delete oldest snapshots until total size fits into quota. Newest is deleted too, if it
+     * alone exceeds quota.
+     */
+    private void trim() {
+        File[] files = mDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files);
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        for (int i = 0; i < files.length && total > mQuotaBytes; i++) {
+            total -= files[i].length();
+            files[i].delete();
+        }
+    }
+
+    private static final class Request {
+        final String mMessage;
+        final Thread mThread;
+        final long mTimestamp;
+        final boolean mThreads;
+        final boolean mHeap;
+
+        Request(String message, Thread thread, long timestamp, boolean threads, boolean heap) {
+            mMessage = message;
+            mThread = thread;
+            mTimestamp = timestamp;
+            mThreads = threads;
+            mHeap = heap;
+        }
+    }
+
+    /**
+     * Builder for {@link SnapshotCapture}. By default thread dump is written at most once in
+     * 30 seconds by {@link ThreadSnapshotDumper}, heap dumps are off, and snapshots take up to
+     * 64 MB. Background thread is started by {@link #build()}.
+     */
+    public static final class Builder {
+
+        private final File mDir;
+        private SnapshotDumper mDumper = new ThreadSnapshotDumper();
+        private long mThreadCooldownNanos = TimeUnit.SECONDS.toNanos(30);
+        private long mHeapCooldownNanos = DISABLED;
+        private long mQuotaBytes = 64 * 1024 * 1024;
+
+        /**
+         * @param dir dir used only for snapshots, as files over quota are deleted from it
+         */
+        public Builder(File dir) {
+            if (dir == null) {
+                throw new IllegalArgumentException("Dir can't be null");
+            }
+            mDir = dir;
+        }
+
+        public Builder setDumper(SnapshotDumper dumper) {
+            if (dumper == null) {
+                throw new IllegalArgumentException("Dumper can't be null");
+            }
+            mDumper = dumper;
+            return this;
+        }
+
+        /**
+         * @param cooldown min time between thread dumps
+         */
+        public Builder setThreadDumpCooldown(long cooldown, TimeUnit unit) {
+            if (cooldown < 0) {
+                throw new IllegalArgumentException("Cooldown can't be negative");
+            }
+            mThreadCooldownNanos = unit.toNanos(cooldown);
+            return this;
+        }
+
+        /**
+         * @param enabled  whether to write heap dumps, if dumper supports them
+         * @param cooldown min time between heap dumps
+         */
+        public Builder setHeapDumps(boolean enabled, long cooldown, TimeUnit unit) {
+            if (cooldown < 0) {
+                throw new IllegalArgumentException("Cooldown can't be negative");
+            }
+            mHeapCooldownNanos = enabled ? unit.toNanos(cooldown) : DISABLED;
+            return this;
+        }
+
+        /**
+         * @param bytes max total size of kept snapshots
+         */
+        public Builder setQuota(long bytes) {
+            if (bytes <= 0) {
+                throw new IllegalArgumentException("Quota must be positive");
+            }
+            mQuotaBytes = bytes;
+            return this;
+        }
+
+        public SnapshotCapture build() {
+            return new SnapshotCapture(this);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.triangleleft.assertdialog;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Writes diagnostic snapshot for {@link SnapshotCapture}. Called on its background thread, so
+ * dumper may take its time. Replace it with stub in JVM tests.
+ */
+public interface SnapshotDumper {
+
+    /**
+     * Write stacks of all threads.
+     *
+     * @param file          file to write to
+     * @param message       message of failure that triggered snapshot
+     * @param failingThread thread on which failure happened
+     * @param timestamp     time of failure, as {@link System#currentTimeMillis()}
+     */
+    void dumpThreads(File file, String message, Thread failingThread, long timestamp) throws IOException;
+
+    /**
+     * Write heap dump.
+     *
+     * @param file file to write to
+     * @return false if heap dumps are not supported and nothing was written
+     */
+    boolean dumpHeap(File file) throws IOException;
+}
@@ -0,0 +1,215 @@
+package com.triangleleft.assertdialog;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Soft assertion scope, created by {@link Asserts#soft()}. Failed assertions are only recorded:
+ * no dialog, no stack capture and no message rendering. When scope is closed, all recorded
+ * failures are reported with single {@link Asserts#fail(String)}, so validating big object
+ * costs one dialog instead of one per failed field. Only first {@link #MAX_REPORTED} failures
+ * are kept and rendered, rest are only counted.
+ * <pre>
+ * SoftAsserts soft = AssertDialog.soft();
+ * soft.assertNotNull("id", user.id);
+ * soft.assertTrue(user.age &gt;= 0, "Negative age {}", user.age);
+ * soft.close();
+ * </pre>
+ * Scope is meant to be used by single thread.
+ */
+public final class SoftAsserts implements Closeable {
+
+    /**
+     * Failures kept and reported in message.
+     */
+    static final int MAX_REPORTED = 10;
+
+    private final AssertTag mTag;
+    private List<Failure> mFailures;
+    private int mCount;
+    private boolean mClosed;
+
+    SoftAsserts(AssertTag tag) {
+        mTag = tag;
+    }
+
+    /**
+     * Records failure if condition is false.
+     *
+     * @param message the identifying message (<code>null</code> okay)
+     * @param condition condition to be checked
+     */
+    public SoftAsserts assertTrue(String message, boolean condition) {
+        Asserts.evaluated();
+        if (!condition) {
+            record(new Failure(message, null, false, null, null));
+        }
+        return this;
+    }
+
+    /**
+     * Records failure if condition is false. Message is rendered only when scope is closed.
+     *
+     * @param condition condition to be checked
+     * @param template the identifying message, each <code>{}</code> is replaced with next argument
+     * @param args template arguments
+     */
+    public SoftAsserts assertTrue(boolean condition, String template, Object... args) {
+        Asserts.evaluated();
+        if (!condition) {
+            record(new Failure(template, args, false, null, null));
+        }
+        return this;
+    }
+
+    /**
+     * Records failure if condition is true.
+     *
+     * @param message the identifying message (<code>null</code> okay)
+     * @param condition condition to be checked
+     */
+    public SoftAsserts assertFalse(String message, boolean condition) {
+        return assertTrue(message, !condition);
+    }
+
+    /**
+     * Records failure if objects are not equal.
+     *
+     * @param message the identifying message (<code>null</code> okay)
+     * @param expected expected value
+     * @param actual actual value
+     */
+    public SoftAsserts assertEquals(String message, Object expected, Object actual) {
+        Asserts.evaluated();
+        if (expected == null ? actual != null : !expected.equals(actual)) {
+            record(new Failure(message, null, true, expected, actual));
+        }
+        return this;
+    }
+
+    /**
+     * Records failure if longs are not equal. Values are boxed only if they differ.
+     *
+     * @param message the identifying message (<code>null</code> okay)
+     * @param expected expected value
+     * @param actual actual value
+     */
+    public SoftAsserts assertEquals(String message, long expected, long actual) {
+        Asserts.evaluated();
+        if (expected != actual) {
+            record(new Failure(message, null, true, expected, actual));
+        }
+        return this;
+    }
+
+    /**
+     * Records failure if object is null.
+     *
+     * @param message the identifying message (<code>null</code> okay)
+     * @param object object to check
+     */
+    public SoftAsserts assertNotNull(String message, Object object) {
+        return assertTrue(message, object != null);
+    }
+
+    /**
+     * Records failure if object is not null.
+     *
+     * @param message the identifying message (<code>null</code> okay)
+     * @param object object to check
+     */
+    public SoftAsserts assertNull(String message, Object object) {
+        Asserts.evaluated();
+        if (object != null) {
+            record(new Failure(message, null, true, null, object));
+        }
+        return this;
+    }
+
+    /**
+     * Records failure unconditionally.
+     *
+     * @param message the identifying message (<code>null</code> okay)
+     */
+    public SoftAsserts fail(String message) {
+        record(new Failure(message, null, false, null, null));
+        return this;
+    }
+
+    /**
+     * @return number of failures recorded so far
+     */
+    public int getFailureCount() {
+        return mCount;
+    }
+
+    /**
+     * Report all recorded failures with single {@link Asserts#fail(String)}. Does nothing if
+     * there were none, or if scope was already closed.
+     */
+    @Override
+    public void close() {
+        if (mClosed) {
+            return;
+        }
+        mClosed = true;
+        if (mFailures == null || Asserts.isIgnored()) {
+            mFailures = null;
+            return;
+        }
+
+        StringBuilder message = new StringBuilder();
+        message.append(mCount).append(mCount == 1
+                ? " soft assertion failed:" : " soft assertions failed:");
+        for (int i = 0; i < mFailures.size(); i++) {
+            message.append('\n').append(i + 1).append(". ").append(mFailures.get(i).render());
+        }
+        if (mCount > mFailures.size()) {
+            message.append("\n...");
+        }
+        mFailures = null;
+        Asserts.fail(mTag, message.toString());
+    }
+
+    private void record(Failure failure) {
+        if (mClosed) {
+            throw new IllegalStateException("Soft assertion scope is closed");
+        }
+        if (mFailures == null) {
+            mFailures = new ArrayList<>();
+        }
+        // Values of failures that aren't reported are not kept alive
+        if (mFailures.size() < MAX_REPORTED) {
+            mFailures.add(failure);
+        }
+        mCount++;
+    }
+
+    /**
+     * Recorded failure, rendered only when scope is closed.
+     */
+    private static final class Failure {
+        final String mTemplate;
+        final Object[] mArgs;
+        final boolean mHasValues;
+        final Object mExpected;
+        final Object mActual;
+
+        Failure(String template, Object[] args, boolean hasValues, Object expected, Object actual) {
+            mTemplate = template;
+            mArgs = args;
+            mHasValues = hasValues;
+            mExpected = expected;
+            mActual = actual;
+        }
+
+        String render() {
+            if (mHasValues) {
+                return Asserts.format(mTemplate, mArgs, mExpected, mActual);
+            }
+            String message = MessageFormatter.format(mTemplate, mArgs);
+            return message == null ? "assertion failed" : message;
+        }
+    }
+}
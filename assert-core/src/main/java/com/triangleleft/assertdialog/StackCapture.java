@@ -0,0 +1,99 @@
+package com.triangleleft.assertdialog;
+
+/**
+ * Policy of capturing stack for failures, that don't have their own throwable.
+ * Frames are captured as {@link StackTraceElement}s only, and turned into text by
+ * {@link FailureHandler} when it writes failure out, so smaller stack means cheaper logging.
+ */
+public final class StackCapture {
+
+    /**
+     * Don't capture stack, all failures share one preallocated stackless throwable.
+     * Cheapest option, but call site is unknown, so rate limiter applies only global limit.
+     */
+    public static final StackCapture NONE = new StackCapture(0);
+    /**
+     * Capture only frame that called assertion.
+     */
+    public static final StackCapture CALL_SITE = new StackCapture(1);
+    /**
+     * Capture whole stack, including assert classes themselves. Default.
+     */
+    public static final StackCapture FULL = new StackCapture(Integer.MAX_VALUE);
+
+    private static final Throwable NO_STACK = new NoStackThrowable();
+
+    private final int mFrames;
+
+    private StackCapture(int frames) {
+        mFrames = frames;
+    }
+
+    /**
+     * @param frames number of frames to keep, starting from frame that called assertion
+     * @return policy capturing given number of top frames
+     */
+    public static StackCapture top(int frames) {
+        if (frames <= 0) {
+            throw new IllegalArgumentException("Frames must be positive");
+        }
+        return frames == 1 ? CALL_SITE : new StackCapture(frames);
+    }
+
+    /**
+     * @return max number of captured frames, 0 if stack is not captured
+     */
+    public int getFrames() {
+        return mFrames;
+    }
+
+    /**
+     * @return throwable capturing place of failure according to this policy
+     */
+    Throwable capture() {
+        return capture(null);
+    }
+
+    /**
+     * @param raw throwable already created at place of failure, to be trimmed instead of
+     *            creating new one, or <code>null</code>
+     * @return throwable capturing place of failure according to this policy
+     */
+    Throwable capture(Throwable raw) {
+        if (mFrames == 0) {
+            return NO_STACK;
+        }
+        Throwable throwable = raw == null ? new Throwable() : raw;
+        if (mFrames == Integer.MAX_VALUE) {
+            return throwable;
+        }
+
+        StackTraceElement[] stack = throwable.getStackTrace();
+        int site = 0;
+        while (site < stack.length && CallSites.isOwnFrame(stack[site].getClassName())) {
+            site++;
+        }
+        int count = Math.min(mFrames, stack.length - site);
+        StackTraceElement[] frames = new StackTraceElement[count];
+        System.arraycopy(stack, site, frames, 0, count);
+        throwable.setStackTrace(frames);
+        return throwable;
+    }
+
+    /**
+     * Shared throwable without stack, filling it in would be wasted work.
+     */
+    private static final class NoStackThrowable extends Throwable {
+
+        private static final long serialVersionUID = 1L;
+
+        NoStackThrowable() {
+            super("Stack is not captured");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
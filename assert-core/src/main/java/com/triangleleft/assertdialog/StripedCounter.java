@@ -0,0 +1,43 @@
+package com.triangleleft.assertdialog;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counter split into cells, so threads incrementing it mostly hit different cache lines instead
+ * of contending on single atomic. Cell is picked by thread id.
+ */
+final class StripedCounter {
+
+    /**
+     * Longs per cache line, cells are padded to it to avoid false sharing.
+     */
+    private static final int PADDING = 8;
+    private static final int STRIPES = stripes();
+
+    private final AtomicLongArray mCells = new AtomicLongArray(STRIPES * PADDING);
+
+    void add(long delta) {
+        int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        mCells.getAndAdd(stripe * PADDING, delta);
+    }
+
+    long sum() {
+        long sum = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            sum += mCells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    /**
+     * @return number of cpus rounded up to power of two, but no more than 8
+     */
+    private static int stripes() {
+        int cpus = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+        int stripes = 1;
+        while (stripes < cpus) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+}
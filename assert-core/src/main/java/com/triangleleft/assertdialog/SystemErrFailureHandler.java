@@ -0,0 +1,26 @@
+package com.triangleleft.assertdialog;
+
+/**
+ * Handler for plain java: writes failures to {@link System#err}. There is no one to show
+ * dialog to, so {@link Asserts.AssertMode#DIALOG} behaves as {@link Asserts.AssertMode#THROW},
+ * and {@link Asserts.AssertMode#DIALOG_ASYNC} as {@link Asserts.AssertMode#LOG}.
+ */
+public class SystemErrFailureHandler implements FailureHandler {
+
+    @Override
+    public void log(String message, Throwable throwable, long callSite) {
+        String text = message == null ? "Assertion failed" : message;
+        System.err.println(callSite == 0 ? text : text + " [" + CallSiteFingerprint.format(callSite) + "]");
+        throwable.printStackTrace();
+    }
+
+    @Override
+    public DialogResult showDialog(String message, long timeoutMillis) {
+        return DialogResult.UNAVAILABLE;
+    }
+
+    @Override
+    public boolean showDialogAsync(String message) {
+        return false;
+    }
+}
@@ -0,0 +1,53 @@
+package com.triangleleft.assertdialog;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Map;
+
+/**
+ * Writes thread dump as text, in format close to one of ANR traces, failing thread first.
+ * Doesn't support heap dumps, platform specific dumpers add them by overriding
+ * {@link #dumpHeap(File)}.
+ */
+public class ThreadSnapshotDumper implements SnapshotDumper {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Override
+    public void dumpThreads(File file, String message, Thread failingThread, long timestamp) throws IOException {
+        Map<Thread, StackTraceElement[]> stacks = Thread.getAllStackTraces();
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), UTF_8));
+        try {
+            out.write("Assertion failed: " + message + "\n");
+            out.write("Time: " + timestamp + "\n");
+            out.write("Threads: " + stacks.size() + "\n");
+            StackTraceElement[] failingStack = stacks.remove(failingThread);
+            if (failingStack != null) {
+                writeThread(out, failingThread, failingStack);
+            }
+            for (Map.Entry<Thread, StackTraceElement[]> entry : stacks.entrySet()) {
+                writeThread(out, entry.getKey(), entry.getValue());
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    @Override
+    public boolean dumpHeap(File file) throws IOException {
+        return false;
+    }
+
+    private static void writeThread(Writer out, Thread thread, StackTraceElement[] stack) throws IOException {
+        out.write("\n\"" + thread.getName() + "\"" + (thread.isDaemon() ? " daemon" : "")
+                + " prio=" + thread.getPriority() + " tid=" + thread.getId() + " " + thread.getState() + "\n");
+        for (StackTraceElement element : stack) {
+            out.write("    at " + element + "\n");
+        }
+    }
+}
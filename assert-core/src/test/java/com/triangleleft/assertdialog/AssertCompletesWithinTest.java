@@ -0,0 +1,101 @@
+package com.triangleleft.assertdialog;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AssertCompletesWithinTest {
+
+    private AssertConfig mPrevious;
+    private int mLogged;
+
+    @Before
+    public void setUp() {
+        mPrevious = Asserts.getConfig();
+        Asserts.setConfig(new AssertConfig.Builder()
+                .setMode(Asserts.AssertMode.LOG)
+                .setHandler(new FailureHandler() {
+                    @Override
+                    public void log(String message, Throwable throwable, long callSite) {
+                        mLogged++;
+                    }
+
+                    @Override
+                    public DialogResult showDialog(String message, long timeoutMillis) {
+                        return DialogResult.UNAVAILABLE;
+                    }
+
+                    @Override
+                    public boolean showDialogAsync(String message) {
+                        return false;
+                    }
+                })
+                .build());
+    }
+
+    @After
+    public void tearDown() {
+        if (mPrevious != null) {
+            Asserts.setConfig(mPrevious);
+        }
+    }
+
+    @Test
+    public void uncheckedExceptionIsPropagated() {
+        final IllegalStateException thrown = new IllegalStateException();
+        try {
+            Asserts.assertCompletesWithin("message", 1, TimeUnit.HOURS, new Asserts.ThrowingRunnable() {
+                @Override
+                public void run() {
+                    throw thrown;
+                }
+            });
+            fail("exception expected");
+        } catch (IllegalStateException e) {
+            assertTrue(e == thrown);
+        }
+        assertEquals(0, mLogged);
+    }
+
+    @Test
+    public void checkedExceptionIsWrapped() {
+        final IOException thrown = new IOException();
+        try {
+            Asserts.assertCompletesWithin("message", 1, TimeUnit.HOURS, new Asserts.ThrowingRunnable() {
+                @Override
+                public void run() throws IOException {
+                    throw thrown;
+                }
+            });
+            fail("exception expected");
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() == thrown);
+        }
+        assertEquals(0, mLogged);
+    }
+
+    @Test
+    public void slowFailureIsReportedBeforeException() {
+        final IllegalStateException thrown = new IllegalStateException();
+        try {
+            Asserts.assertCompletesWithin("message", 1, TimeUnit.NANOSECONDS, new Asserts.ThrowingRunnable() {
+                @Override
+                public void run() throws InterruptedException {
+                    Thread.sleep(1);
+                    throw thrown;
+                }
+            });
+            fail("exception expected");
+        } catch (IllegalStateException e) {
+            assertTrue(e == thrown);
+        }
+        assertEquals(1, mLogged);
+    }
+}
@@ -0,0 +1,38 @@
+package com.triangleleft.assertdialog;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class AssertConfigTest {
+
+    @Test
+    public void tagModeIsInheritedFromClosestPrefix() {
+        AssertConfig config = new AssertConfig.Builder()
+                .setMode(Asserts.AssertMode.DIALOG)
+                .setHandler(new SystemErrFailureHandler())
+                .setTagMode("network.*", Asserts.AssertMode.LOG)
+                .setTagMode("network.http.*", Asserts.AssertMode.THROW)
+                .build();
+
+        assertEquals(Asserts.AssertMode.LOG, config.getMode(AssertTag.of("network.socket")));
+        assertEquals(Asserts.AssertMode.THROW, config.getMode(AssertTag.of("network.http.body")));
+        assertEquals(Asserts.AssertMode.DIALOG, config.getMode(AssertTag.of("db")));
+        assertEquals(Asserts.AssertMode.DIALOG, config.getMode(null));
+    }
+
+    @Test
+    public void manyTagsResolveSameAsFew() {
+        AssertConfig config = new AssertConfig.Builder()
+                .setMode(Asserts.AssertMode.DIALOG)
+                .setHandler(new SystemErrFailureHandler())
+                .setTagMode("network.*", Asserts.AssertMode.LOG)
+                .build();
+
+        // Far more tags than are cached
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(Asserts.AssertMode.LOG, config.getMode(AssertTag.of("network.request" + i)));
+            assertEquals(Asserts.AssertMode.DIALOG, config.getMode(AssertTag.of("screen" + i)));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.triangleleft.assertdialog;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AssertJournalTest {
+
+    // Header, then slot sequence and checksum
+    private static final int FIRST_PAYLOAD = 16 + 8 + 4;
+    private static final int SLOT_SIZE = 512;
+
+    private File mFile;
+
+    @Before
+    public void setUp() throws IOException {
+        mFile = File.createTempFile("assert-journal", null);
+    }
+
+    @After
+    public void tearDown() {
+        mFile.delete();
+    }
+
+    @Test
+    public void recordIsReadBack() throws IOException {
+        AssertJournal journal = AssertJournal.open(mFile, 4, true);
+        journal.append(Asserts.AssertMode.DIALOG, "message", throwable(), 42);
+
+        List<AssertJournal.Record> records = journal.read();
+        assertEquals(1, records.size());
+        AssertJournal.Record record = records.get(0);
+        assertEquals(0, record.getSequence());
+        assertEquals(Thread.currentThread().getName(), record.getThreadName());
+        assertEquals(Thread.currentThread().getId(), record.getThreadId());
+        assertEquals(42, record.getCallSite());
+        assertEquals(Asserts.AssertMode.DIALOG, record.getMode());
+        assertEquals("message", record.getMessage());
+        assertEquals("com.example.Foo.bar(Foo.java:42)\n"
+                + "com.example.Foo.baz(Unknown Source)\n"
+                + "com.example.Foo.run(Native Method)", record.getStack());
+    }
+
+    @Test
+    public void recordsSurviveReopen() throws IOException {
+        AssertJournal journal = AssertJournal.open(mFile, 8, false);
+        for (Asserts.AssertMode mode : Asserts.AssertMode.values()) {
+            journal.append(mode, null, throwable(), 0);
+        }
+
+        List<AssertJournal.Record> records = AssertJournal.open(mFile, 8, false).read();
+        assertEquals(Asserts.AssertMode.values().length, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(Asserts.AssertMode.values()[i], records.get(i).getMode());
+            assertNull(records.get(i).getMessage());
+            assertNull(records.get(i).getStack());
+        }
+    }
+
+    @Test
+    public void oldestRecordsAreOverwritten() throws IOException {
+        AssertJournal journal = AssertJournal.open(mFile, 4, false);
+        for (int i = 0; i < 6; i++) {
+            journal.append(Asserts.AssertMode.LOG, "message " + i, throwable(), 0);
+        }
+
+        List<AssertJournal.Record> records = AssertJournal.read(mFile);
+        assertEquals(4, records.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i + 2, records.get(i).getSequence());
+            assertEquals("message " + (i + 2), records.get(i).getMessage());
+        }
+    }
+
+    @Test
+    public void truncatedTextEndsWithWholeCharacter() throws IOException {
+        AssertJournal journal = AssertJournal.open(mFile, 4, true);
+        StringBuilder twoByte = new StringBuilder();
+        StringBuilder fourByte = new StringBuilder();
+        for (int i = 0; i < SLOT_SIZE; i++) {
+            twoByte.append('\u00e9');
+            fourByte.append("\ud83d\ude00");
+        }
+        journal.append(Asserts.AssertMode.LOG, "x" + twoByte, throwable(), 0);
+        journal.append(Asserts.AssertMode.LOG, "x" + fourByte, throwable(), 0);
+
+        List<AssertJournal.Record> records = journal.read();
+        String first = records.get(0).getMessage();
+        assertTrue(first.length() < twoByte.length());
+        assertTrue(("x" + twoByte).startsWith(first));
+        String second = records.get(1).getMessage();
+        assertTrue(second.length() < fourByte.length());
+        assertTrue(("x" + fourByte).startsWith(second));
+        assertFalse(second.indexOf('\ufffd') >= 0);
+    }
+
+    @Test
+    public void closedJournalIgnoresAppends() throws IOException {
+        AssertJournal journal = AssertJournal.open(mFile, 4, false);
+        journal.append(Asserts.AssertMode.LOG, "before", throwable(), 0);
+        journal.close();
+        journal.append(Asserts.AssertMode.LOG, "after", throwable(), 0);
+
+        List<AssertJournal.Record> records = AssertJournal.read(mFile);
+        assertEquals(1, records.size());
+        assertEquals("before", records.get(0).getMessage());
+    }
+
+    @Test
+    public void unpairedSurrogateIsReplaced() throws IOException {
+        AssertJournal journal = AssertJournal.open(mFile, 4, true);
+        journal.append(Asserts.AssertMode.LOG, "a\ud83db\ude00c", throwable(), 0);
+
+        assertEquals("a?b?c", journal.read().get(0).getMessage());
+    }
+
+    @Test
+    public void tornRecordIsSkipped() throws IOException {
+        AssertJournal journal = AssertJournal.open(mFile, 4, false);
+        journal.append(Asserts.AssertMode.LOG, "first", throwable(), 0);
+        journal.append(Asserts.AssertMode.LOG, "second", throwable(), 0);
+
+        // Payload of first slot changed, but sequence is left as is
+        RandomAccessFile raf = new RandomAccessFile(mFile, "rw");
+        try {
+            raf.seek(FIRST_PAYLOAD + 3);
+            raf.write(raf.read() ^ 0xff);
+        } finally {
+            raf.close();
+        }
+
+        List<AssertJournal.Record> records = AssertJournal.read(mFile);
+        assertEquals(1, records.size());
+        assertEquals("second", records.get(0).getMessage());
+    }
+
+    @Test
+    public void concurrentAppendsDontTearRecords() throws Exception {
+        final AssertJournal journal = AssertJournal.open(mFile, 4, true);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            final String message = "thread " + i;
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 1000; j++) {
+                        journal.append(Asserts.AssertMode.LOG, message, throwable(), 0);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<AssertJournal.Record> records = journal.read();
+        assertEquals(4, records.size());
+        for (AssertJournal.Record record : records) {
+            assertTrue(record.getMessage().startsWith("thread "));
+        }
+    }
+
+    private static Throwable throwable() {
+        Throwable throwable = new Throwable();
+        throwable.setStackTrace(new StackTraceElement[]{
+                new StackTraceElement(Asserts.class.getName(), "fail", "Asserts.java", 100),
+                new StackTraceElement("com.example.Foo", "bar", "Foo.java", 42),
+                new StackTraceElement("com.example.Foo", "baz", null, -1),
+                new StackTraceElement("com.example.Foo", "run", "Foo.java", -2)
+        });
+        return throwable;
+    }
+}
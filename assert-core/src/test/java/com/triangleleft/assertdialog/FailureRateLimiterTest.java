@@ -0,0 +1,44 @@
+package com.triangleleft.assertdialog;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FailureRateLimiterTest {
+
+    private static final StackTraceElement SITE = new StackTraceElement("com.example.Foo", "bar", "Foo.java", 1);
+    private static final StackTraceElement OTHER_SITE = new StackTraceElement("com.example.Foo", "baz", "Foo.java", 2);
+
+    @Test
+    public void siteIsLimited() {
+        FailureRateLimiter limiter = new FailureRateLimiter.Builder()
+                .setSiteRate(2, 1, TimeUnit.HOURS)
+                .build();
+
+        assertEquals(0, limiter.acquire(SITE));
+        assertEquals(0, limiter.acquire(SITE));
+        assertEquals(FailureRateLimiter.SUPPRESSED, limiter.acquire(SITE));
+        // Other sites have their own budget
+        assertEquals(0, limiter.acquire(OTHER_SITE));
+    }
+
+    @Test
+    public void globalRefusalDoesNotCostSiteToken() throws InterruptedException {
+        FailureRateLimiter limiter = new FailureRateLimiter.Builder()
+                .setSiteRate(1, 1, TimeUnit.HOURS)
+                .setGlobalRate(1, 50, TimeUnit.MILLISECONDS)
+                .build();
+
+        assertEquals(0, limiter.acquire(SITE));
+        // Storm caused by other site
+        assertEquals(FailureRateLimiter.SUPPRESSED, limiter.acquire(OTHER_SITE));
+        assertTrue(limiter.isStorm());
+
+        Thread.sleep(100);
+        // Site still has its only token, and reports suppressed failure
+        assertEquals(1, limiter.acquire(OTHER_SITE));
+    }
+}
@@ -0,0 +1,173 @@
+package com.triangleleft.assertdialog;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs {@link HttpFailureReporter} against local HTTP server. Batches are told apart by their
+ * "dropped" count.
+ */
+public class HttpFailureReporterTest {
+
+    private HttpServer mServer;
+    private final List<String> mReceived = Collections.synchronizedList(new ArrayList<String>());
+    private volatile int mResponseCode = 200;
+    private File mRetryDir;
+    private URL mEndpoint;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        mServer.createContext("/asserts", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                mReceived.add(new String(readAll(exchange.getRequestBody()), "UTF-8"));
+                if (mResponseCode >= 300 && mResponseCode < 400) {
+                    exchange.getResponseHeaders().add("Location", "/elsewhere");
+                }
+                exchange.sendResponseHeaders(mResponseCode, -1);
+                exchange.close();
+            }
+        });
+        mServer.start();
+        mEndpoint = new URL("http://127.0.0.1:" + mServer.getAddress().getPort() + "/asserts");
+        mRetryDir = new File(Files.createTempDirectory("assert-reports").toFile(), "retry");
+    }
+
+    @After
+    public void tearDown() {
+        mServer.stop(0);
+        File[] files = mRetryDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        mRetryDir.delete();
+        mRetryDir.getParentFile().delete();
+    }
+
+    @Test
+    public void successIsDelivered() {
+        mResponseCode = 204;
+        reporter(10).report(Collections.singletonList(report("message")), 0);
+
+        assertEquals(1, mReceived.size());
+        assertTrue(mReceived.get(0).startsWith("{\"dropped\":0,\"failures\":[{\"timestamp\":1457000000000,"
+                + "\"thread\":\"main\",\"mode\":\"LOG\",\"message\":\"message\",\"site\":null,"
+                + "\"fingerprint\":\"000000000000002a\",\"stack\":["));
+        assertEquals(0, savedCount());
+    }
+
+    @Test
+    public void serverErrorIsSavedAndResentInOrder() {
+        HttpFailureReporter reporter = reporter(10);
+        mResponseCode = 503;
+        reporter.report(Collections.<FailureReport>emptyList(), 1);
+        reporter.report(Collections.<FailureReport>emptyList(), 2);
+        assertEquals(2, savedCount());
+        mReceived.clear();
+
+        mResponseCode = 200;
+        reporter.report(Collections.<FailureReport>emptyList(), 3);
+
+        assertEquals(3, mReceived.size());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(mReceived.get(i).startsWith("{\"dropped\":" + (i + 1) + ","));
+        }
+        assertEquals(0, savedCount());
+    }
+
+    @Test
+    public void clientErrorIsDropped() {
+        mResponseCode = 400;
+        reporter(10).report(Collections.<FailureReport>emptyList(), 1);
+
+        assertEquals(1, mReceived.size());
+        assertEquals(0, savedCount());
+    }
+
+    @Test
+    public void redirectIsDropped() {
+        mResponseCode = 302;
+        reporter(10).report(Collections.<FailureReport>emptyList(), 1);
+
+        assertEquals(1, mReceived.size());
+        assertEquals(0, savedCount());
+    }
+
+    @Test
+    public void throttlingIsRetried() {
+        mResponseCode = 429;
+        reporter(10).report(Collections.<FailureReport>emptyList(), 1);
+
+        assertEquals(1, savedCount());
+    }
+
+    @Test
+    public void retryDirIsBounded() {
+        HttpFailureReporter reporter = reporter(2);
+        mResponseCode = 500;
+        for (int i = 1; i <= 4; i++) {
+            reporter.report(Collections.<FailureReport>emptyList(), i);
+        }
+        assertEquals(2, savedCount());
+        mReceived.clear();
+
+        mResponseCode = 200;
+        reporter.report(Collections.<FailureReport>emptyList(), 5);
+
+        // Oldest batches were dropped
+        assertEquals(3, mReceived.size());
+        assertTrue(mReceived.get(0).startsWith("{\"dropped\":3,"));
+        assertTrue(mReceived.get(1).startsWith("{\"dropped\":4,"));
+        assertTrue(mReceived.get(2).startsWith("{\"dropped\":5,"));
+    }
+
+    private HttpFailureReporter reporter(int maxBatches) {
+        return new HttpFailureReporter.Builder(mEndpoint)
+                .setRetryDir(mRetryDir, maxBatches)
+                .setTimeout(5, TimeUnit.SECONDS)
+                .build();
+    }
+
+    private int savedCount() {
+        String[] names = mRetryDir.list();
+        return names == null ? 0 : names.length;
+    }
+
+    private static FailureReport report(String message) {
+        return new FailureReport(1457000000000L, "main", Asserts.AssertMode.LOG, message,
+                new Throwable(), null, 42);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
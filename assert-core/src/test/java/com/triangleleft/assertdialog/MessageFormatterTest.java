@@ -0,0 +1,69 @@
+package com.triangleleft.assertdialog;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MessageFormatterTest {
+
+    private static final int LARGE = 100000;
+
+    @Test
+    public void smallValuesUseToString() {
+        assertEquals("[1, 2]", MessageFormatter.valueOf(Arrays.asList(1, 2)));
+        assertEquals("{a=1}", MessageFormatter.valueOf(Collections.singletonMap("a", 1)));
+        assertEquals("null", MessageFormatter.valueOf(null));
+    }
+
+    @Test
+    public void largeCollectionIsBounded() {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < LARGE; i++) {
+            list.add(i);
+        }
+        String value = MessageFormatter.valueOf(list);
+        assertTrue(value.startsWith("[0, 1, 2"));
+        assertTrue(value.endsWith(", ... (" + LARGE + " elements)]"));
+        assertTrue(value.length() < 1000);
+    }
+
+    @Test
+    public void largeMapIsBounded() {
+        Map<Integer, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < LARGE; i++) {
+            map.put(i, "v" + i);
+        }
+        String value = MessageFormatter.valueOf(map);
+        assertTrue(value.startsWith("{0=v0, 1=v1"));
+        assertTrue(value.endsWith(", ... (" + LARGE + " entries)}"));
+        assertTrue(value.length() < 1000);
+    }
+
+    @Test
+    public void arraysAreRenderedBounded() {
+        assertEquals("[1, 2, 3]", MessageFormatter.valueOf(new int[]{1, 2, 3}));
+        assertEquals("[a, null]", MessageFormatter.valueOf(new Object[]{"a", null}));
+
+        Object[] large = new Object[LARGE];
+        Arrays.fill(large, "x");
+        String value = MessageFormatter.valueOf(large);
+        assertTrue(value.endsWith(", ... (" + LARGE + " elements)]"));
+        assertTrue(value.length() < 1000);
+    }
+
+    @Test
+    public void longStringIsTruncated() {
+        char[] chars = new char[MessageFormatter.MAX_VALUE_LENGTH * 2];
+        Arrays.fill(chars, 'x');
+        String value = MessageFormatter.valueOf(new String(chars));
+        assertTrue(value.endsWith("... (" + chars.length + " chars)"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.triangleleft.assertdialog;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SoftAssertsTest {
+
+    private AssertConfig mPrevious;
+    private String mLogged;
+
+    @Before
+    public void setUp() {
+        mPrevious = Asserts.getConfig();
+        Asserts.setConfig(new AssertConfig.Builder()
+                .setMode(Asserts.AssertMode.LOG)
+                .setHandler(new FailureHandler() {
+                    @Override
+                    public void log(String message, Throwable throwable, long callSite) {
+                        mLogged = message;
+                    }
+
+                    @Override
+                    public DialogResult showDialog(String message, long timeoutMillis) {
+                        return DialogResult.UNAVAILABLE;
+                    }
+
+                    @Override
+                    public boolean showDialogAsync(String message) {
+                        return false;
+                    }
+                })
+                .build());
+    }
+
+    @After
+    public void tearDown() {
+        if (mPrevious != null) {
+            Asserts.setConfig(mPrevious);
+        }
+    }
+
+    @Test
+    public void allFailuresAreListed() {
+        SoftAsserts soft = Asserts.soft();
+        soft.assertEquals("first", 1, 2);
+        soft.assertTrue(false, "second {}", "arg");
+        soft.close();
+
+        assertEquals("2 soft assertions failed:\n1. first expected:<1> but was:<2>\n2. second arg", mLogged);
+    }
+
+    @Test
+    public void manyFailuresAreCountedButNotListed() {
+        SoftAsserts soft = Asserts.soft();
+        for (int i = 0; i < 100000; i++) {
+            soft.assertEquals("row " + i, 0, i + 1);
+        }
+        assertEquals(100000, soft.getFailureCount());
+        soft.close();
+
+        String[] lines = mLogged.split("\n");
+        assertEquals("100000 soft assertions failed:", lines[0]);
+        assertEquals(SoftAsserts.MAX_REPORTED + 2, lines.length);
+        assertTrue(lines[SoftAsserts.MAX_REPORTED].startsWith(SoftAsserts.MAX_REPORTED + ". row "
+                + (SoftAsserts.MAX_REPORTED - 1) + " "));
+        assertEquals("...", lines[lines.length - 1]);
+    }
+}
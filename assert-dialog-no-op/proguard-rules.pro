@@ -0,0 +1,42 @@
+# Consumer rules of no-op artifact, applied to minified apps that depend on it.
+#
+# Asserts do nothing here, so their calls can be removed together with code that computes
+# their arguments (string concatenation, boxing, getters). Removing arguments needs optimizing
+# configuration, e.g. proguard-android-optimize.txt, R8 does it by default.
+#
+# assertCompletesWithin() is not listed, as it runs measured code.
+
+-assumenosideeffects class com.triangleleft.assertdialog.Asserts {
+    public static void assertTrue(...);
+    public static void assertFalse(...);
+    public static void assertEquals(...);
+    public static void assertNotEquals(...);
+    public static void assertNull(...);
+    public static void assertNotNull(...);
+    public static void assertSame(...);
+    public static void assertNotSame(...);
+    public static void assertArrayEquals(...);
+    public static void assertIterableEquals(...);
+    public static void assertAllMatch(...);
+    public static void assertNoneMatch(...);
+    public static void assertThrows(...);
+    public static void assertSampled(...);
+    public static void assertHoldsLock(...);
+    public static void assertWithinBudget(...);
+    public static long startBudget();
+    public static void fail(...);
+    public static com.triangleleft.assertdialog.SoftAsserts soft(...);
+}
+
+-assumenosideeffects class com.triangleleft.assertdialog.AssertDialog {
+    public static void assertMainThread(...);
+    public static void assertNotMainThread(...);
+    public static void assertOnLooper(...);
+}
+
+-assumenosideeffects class com.triangleleft.assertdialog.SoftAsserts {
+    public com.triangleleft.assertdialog.SoftAsserts assert*(...);
+    public com.triangleleft.assertdialog.SoftAsserts fail(...);
+    public int getFailureCount();
+    public void close();
+}
@@ -0,0 +1,140 @@
+package com.triangleleft.assertdialog;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public final class AssertConfig {
+
+    AssertConfig() {
+    }
+
+    public Asserts.AssertMode getMode() {
+        return null;
+    }
+
+    public Asserts.AssertMode getMode(AssertTag tag) {
+        return null;
+    }
+
+    public Map<String, Asserts.AssertMode> getTagModes() {
+        return null;
+    }
+
+    public SampleRate getSampleRate() {
+        return new SampleRate();
+    }
+
+    public SampleRate getSampleRate(AssertTag tag) {
+        return new SampleRate();
+    }
+
+    public Map<String, SampleRate> getTagSampleRates() {
+        return null;
+    }
+
+    public FailureHandler getHandler() {
+        return null;
+    }
+
+    public FailureRateLimiter getRateLimiter() {
+        return new FailureRateLimiter();
+    }
+
+    public long getDialogTimeoutMillis() {
+        return 0;
+    }
+
+    public boolean isThrowOnDialogTimeout() {
+        return false;
+    }
+
+    public StackCapture getStackCapture() {
+        return new StackCapture();
+    }
+
+    public AssertJournal getJournal() {
+        return new AssertJournal();
+    }
+
+    public ReportDispatcher getReportDispatcher() {
+        return new ReportDispatcher();
+    }
+
+    public AssertMetrics getMetrics() {
+        return new AssertMetrics();
+    }
+
+    public SnapshotCapture getSnapshotCapture() {
+        return new SnapshotCapture();
+    }
+
+    public IgnoredSites getIgnoredSites() {
+        return new IgnoredSites();
+    }
+
+    public Builder buildUpon() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        public Builder() {
+        }
+
+        public Builder setMode(Asserts.AssertMode mode) {
+            return this;
+        }
+
+        public Builder setHandler(FailureHandler handler) {
+            return this;
+        }
+
+        public Builder setTagMode(String tag, Asserts.AssertMode mode) {
+            return this;
+        }
+
+        public Builder setSampleRate(SampleRate rate) {
+            return this;
+        }
+
+        public Builder setTagSampleRate(String tag, SampleRate rate) {
+            return this;
+        }
+
+        public Builder setRateLimiter(FailureRateLimiter rateLimiter) {
+            return this;
+        }
+
+        public Builder setDialogTimeout(long timeout, TimeUnit unit, boolean throwOnTimeout) {
+            return this;
+        }
+
+        public Builder setStackCapture(StackCapture stackCapture) {
+            return this;
+        }
+
+        public Builder setJournal(AssertJournal journal) {
+            return this;
+        }
+
+        public Builder setReportDispatcher(ReportDispatcher reportDispatcher) {
+            return this;
+        }
+
+        public Builder setMetrics(AssertMetrics metrics) {
+            return this;
+        }
+
+        public Builder setSnapshotCapture(SnapshotCapture snapshotCapture) {
+            return this;
+        }
+
+        public Builder setIgnoredSites(IgnoredSites ignoredSites) {
+            return this;
+        }
+
+        public AssertConfig build() {
+            return new AssertConfig();
+        }
+    }
+}
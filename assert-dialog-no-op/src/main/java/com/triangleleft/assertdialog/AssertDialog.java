@@ -0,0 +1,67 @@
+package com.triangleleft.assertdialog;
+
+import android.content.Context;
+import android.os.Looper;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+public class AssertDialog extends Asserts {
+
+    AssertDialog() {
+    }
+
+    public static void init(AssertMode mode, Context context) {
+    }
+
+    public static void init(AssertMode mode, Context context, ModalLoop modalLoop) {
+    }
+
+    public static void assertMainThread(String message) {
+    }
+
+    public static void assertMainThread() {
+    }
+
+    public static void assertNotMainThread(String message) {
+    }
+
+    public static void assertNotMainThread() {
+    }
+
+    public static void assertOnLooper(String message, Looper looper) {
+    }
+
+    public static void assertOnLooper(Looper looper) {
+    }
+
+    public static AssertJournal enableJournal(Context context, boolean withStack) throws IOException {
+        return new AssertJournal();
+    }
+
+    public static File getJournalFile(Context context) {
+        return null;
+    }
+
+    public static SnapshotCapture enableSnapshots(Context context, boolean heapDumps) {
+        return new SnapshotCapture();
+    }
+
+    public static File getSnapshotDir(Context context) {
+        return null;
+    }
+
+    public static File getIgnoredSitesFile(Context context) {
+        return null;
+    }
+
+    public static AssertMetrics enableMetrics(int sampleInterval, long dumpPeriod, TimeUnit unit) {
+        return new AssertMetrics();
+    }
+
+    public static void watchMainLooper(long budget, TimeUnit unit) {
+    }
+
+    public static void stopWatchingMainLooper() {
+    }
+}
@@ -0,0 +1,47 @@
+package com.triangleleft.assertdialog;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public final class AssertMetrics {
+
+    AssertMetrics() {
+    }
+
+    public AssertMetrics(int sampleInterval) {
+    }
+
+    public List<SiteSnapshot> snapshot() {
+        return Collections.emptyList();
+    }
+
+    public void startDump(long period, TimeUnit unit, final DumpListener listener) {
+    }
+
+    public void stopDump() {
+    }
+
+    public interface DumpListener {
+
+        void onDump(List<SiteSnapshot> snapshot);
+    }
+
+    public static final class SiteSnapshot {
+
+        SiteSnapshot() {
+        }
+
+        public StackTraceElement getSite() {
+            return null;
+        }
+
+        public long getEvaluations() {
+            return 0;
+        }
+
+        public long getFailures() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,619 @@
+package com.triangleleft.assertdialog;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+public class Asserts {
+
+    protected Asserts() {
+    }
+
+    public static void init(AssertMode mode, FailureHandler handler) {
+    }
+
+    public static void setConfig(AssertConfig config) {
+    }
+
+    public static AssertConfig getConfig() {
+        return new AssertConfig();
+    }
+
+    public static void setMode(final AssertMode mode) {
+    }
+
+    public static void setTagMode(final String tag, final AssertMode mode) {
+    }
+
+    public static void setRateLimiter(final FailureRateLimiter rateLimiter) {
+    }
+
+    public static void setDialogTimeout(final long timeout, final TimeUnit unit, final boolean throwOnTimeout) {
+    }
+
+    public static void setStackCapture(final StackCapture stackCapture) {
+    }
+
+    public static void setJournal(final AssertJournal journal) {
+    }
+
+    public static void setReportDispatcher(final ReportDispatcher reportDispatcher) {
+    }
+
+    public static void setMetrics(final AssertMetrics metrics) {
+    }
+
+    public static void setSnapshotCapture(final SnapshotCapture snapshotCapture) {
+    }
+
+    public static void ignore(long callSite) {
+    }
+
+    public static void ignore(StackTraceElement site) {
+    }
+
+    public static void setSampleRate(final SampleRate rate) {
+    }
+
+    public static void setTagSampleRate(final String tag, final SampleRate rate) {
+    }
+
+    public static void assertTrue(String message, boolean condition) {
+    }
+
+    public static void assertTrue(MessageSupplier message, boolean condition) {
+    }
+
+    public static void assertTrue(boolean condition, String template, Object arg) {
+    }
+
+    public static void assertTrue(boolean condition, String template, Object arg1, Object arg2) {
+    }
+
+    public static void assertTrue(boolean condition, String template, Object arg1, Object arg2, Object arg3) {
+    }
+
+    public static void assertTrue(boolean condition, String template, Object... args) {
+    }
+
+    public static void assertTrue(boolean condition) {
+    }
+
+    public static void assertFalse(String message, boolean condition) {
+    }
+
+    public static void assertFalse(MessageSupplier message, boolean condition) {
+    }
+
+    public static void assertFalse(boolean condition, String template, Object arg) {
+    }
+
+    public static void assertFalse(boolean condition, String template, Object arg1, Object arg2) {
+    }
+
+    public static void assertFalse(boolean condition, String template, Object arg1, Object arg2, Object arg3) {
+    }
+
+    public static void assertFalse(boolean condition, String template, Object... args) {
+    }
+
+    public static void assertFalse(boolean condition) {
+    }
+
+    public static void assertEquals(String message, Object expected, Object actual) {
+    }
+
+    public static void assertEquals(MessageSupplier message, Object expected, Object actual) {
+    }
+
+    public static void assertEquals(Object expected, Object actual, String template, Object... args) {
+    }
+
+    public static void assertEquals(Object expected, Object actual) {
+    }
+
+    public static void assertNotEquals(String message, Object unexpected, Object actual) {
+    }
+
+    public static void assertNotEquals(MessageSupplier message, Object unexpected, Object actual) {
+    }
+
+    public static void assertNotEquals(Object unexpected, Object actual, String template, Object... args) {
+    }
+
+    public static void assertNotEquals(Object unexpected, Object actual) {
+    }
+
+    public static void assertNotEquals(String message, long unexpected, long actual) {
+    }
+
+    public static void assertNotEquals(MessageSupplier message, long unexpected, long actual) {
+    }
+
+    public static void assertNotEquals(long unexpected, long actual, String template, Object arg) {
+    }
+
+    public static void assertNotEquals(long unexpected, long actual, String template, Object arg1, Object arg2) {
+    }
+
+    public static void assertNotEquals(long unexpected, long actual, String template, Object arg1, Object arg2, Object arg3) {
+    }
+
+    public static void assertNotEquals(long unexpected, long actual, String template, Object... args) {
+    }
+
+    public static void assertNotEquals(long unexpected, long actual) {
+    }
+
+    public static void assertNotEquals(String message, double unexpected, double actual, double delta) {
+    }
+
+    public static void assertNotEquals(MessageSupplier message, double unexpected, double actual, double delta) {
+    }
+
+    public static void assertNotEquals(double unexpected, double actual, double delta, String template, Object arg) {
+    }
+
+    public static void assertNotEquals(double unexpected, double actual, double delta, String template, Object arg1, Object arg2) {
+    }
+
+    public static void assertNotEquals(double unexpected, double actual, double delta, String template, Object arg1, Object arg2, Object arg3) {
+    }
+
+    public static void assertNotEquals(double unexpected, double actual, double delta, String template, Object... args) {
+    }
+
+    public static void assertNotEquals(double unexpected, double actual, double delta) {
+    }
+
+    public static void assertNotEquals(float unexpected, float actual, float delta) {
+    }
+
+    public static void assertEquals(String message, double expected, double actual, double delta) {
+    }
+
+    public static void assertEquals(MessageSupplier message, double expected, double actual, double delta) {
+    }
+
+    public static void assertEquals(double expected, double actual, double delta, String template, Object arg) {
+    }
+
+    public static void assertEquals(double expected, double actual, double delta, String template, Object arg1, Object arg2) {
+    }
+
+    public static void assertEquals(double expected, double actual, double delta, String template, Object arg1, Object arg2, Object arg3) {
+    }
+
+    public static void assertEquals(double expected, double actual, double delta, String template, Object... args) {
+    }
+
+    public static void assertEquals(String message, float expected, float actual, float delta) {
+    }
+
+    public static void assertEquals(MessageSupplier message, float expected, float actual, float delta) {
+    }
+
+    public static void assertEquals(float expected, float actual, float delta, String template, Object arg) {
+    }
+
+    public static void assertEquals(float expected, float actual, float delta, String template, Object arg1, Object arg2) {
+    }
+
+    public static void assertEquals(float expected, float actual, float delta, String template, Object arg1, Object arg2, Object arg3) {
+    }
+
+    public static void assertEquals(float expected, float actual, float delta, String template, Object... args) {
+    }
+
+    public static void assertNotEquals(String message, float unexpected, float actual, float delta) {
+    }
+
+    public static void assertNotEquals(MessageSupplier message, float unexpected, float actual, float delta) {
+    }
+
+    public static void assertNotEquals(float unexpected, float actual, float delta, String template, Object arg) {
+    }
+
+    public static void assertNotEquals(float unexpected, float actual, float delta, String template, Object arg1, Object arg2) {
+    }
+
+    public static void assertNotEquals(float unexpected, float actual, float delta, String template, Object arg1, Object arg2, Object arg3) {
+    }
+
+    public static void assertNotEquals(float unexpected, float actual, float delta, String template, Object... args) {
+    }
+
+    public static void assertEquals(long expected, long actual) {
+    }
+
+    public static void assertEquals(String message, long expected, long actual) {
+    }
+
+    public static void assertEquals(MessageSupplier message, long expected, long actual) {
+    }
+
+    public static void assertEquals(long expected, long actual, String template, Object arg) {
+    }
+
+    public static void assertEquals(long expected, long actual, String template, Object arg1, Object arg2) {
+    }
+
+    public static void assertEquals(long expected, long actual, String template, Object arg1, Object arg2, Object arg3) {
+    }
+
+    public static void assertEquals(long expected, long actual, String template, Object... args) {
+    }
+
+    public static void assertEquals(int expected, int actual) {
+    }
+
+    public static void assertEquals(String message, int expected, int actual) {
+    }
+
+    public static void assertEquals(MessageSupplier message, int expected, int actual) {
+    }
+
+    public static void assertNotEquals(String message, int unexpected, int actual) {
+    }
+
+    public static void assertNotEquals(MessageSupplier message, int unexpected, int actual) {
+    }
+
+    public static void assertNotEquals(int unexpected, int actual) {
+    }
+
+    public static void assertEquals(char expected, char actual) {
+    }
+
+    public static void assertEquals(String message, char expected, char actual) {
+    }
+
+    public static void assertEquals(MessageSupplier message, char expected, char actual) {
+    }
+
+    public static void assertNotEquals(String message, char unexpected, char actual) {
+    }
+
+    public static void assertNotEquals(MessageSupplier message, char unexpected, char actual) {
+    }
+
+    public static void assertNotEquals(char unexpected, char actual) {
+    }
+
+    public static void assertEquals(short expected, short actual) {
+    }
+
+    public static void assertEquals(String message, short expected, short actual) {
+    }
+
+    public static void assertEquals(MessageSupplier message, short expected, short actual) {
+    }
+
+    public static void assertNotEquals(String message, short unexpected, short actual) {
+    }
+
+    public static void assertNotEquals(MessageSupplier message, short unexpected, short actual) {
+    }
+
+    public static void assertNotEquals(short unexpected, short actual) {
+    }
+
+    public static void assertEquals(byte expected, byte actual) {
+    }
+
+    public static void assertEquals(String message, byte expected, byte actual) {
+    }
+
+    public static void assertEquals(MessageSupplier message, byte expected, byte actual) {
+    }
+
+    public static void assertNotEquals(String message, byte unexpected, byte actual) {
+    }
+
+    public static void assertNotEquals(MessageSupplier message, byte unexpected, byte actual) {
+    }
+
+    public static void assertNotEquals(byte unexpected, byte actual) {
+    }
+
+    public static void assertEquals(boolean expected, boolean actual) {
+    }
+
+    public static void assertEquals(String message, boolean expected, boolean actual) {
+    }
+
+    public static void assertEquals(MessageSupplier message, boolean expected, boolean actual) {
+    }
+
+    public static void assertNotEquals(String message, boolean unexpected, boolean actual) {
+    }
+
+    public static void assertNotEquals(MessageSupplier message, boolean unexpected, boolean actual) {
+    }
+
+    public static void assertNotEquals(boolean unexpected, boolean actual) {
+    }
+
+    public static void assertEquals(double expected, double actual, double delta) {
+    }
+
+    public static void assertEquals(float expected, float actual, float delta) {
+    }
+
+    public static void assertNotNull(String message, Object object) {
+    }
+
+    public static void assertNotNull(MessageSupplier message, Object object) {
+    }
+
+    public static void assertNotNull(Object object, String template, Object arg) {
+    }
+
+    public static void assertNotNull(Object object, String template, Object arg1, Object arg2) {
+    }
+
+    public static void assertNotNull(Object object, String template, Object arg1, Object arg2, Object arg3) {
+    }
+
+    public static void assertNotNull(Object object, String template, Object... args) {
+    }
+
+    public static void assertNotNull(Object object) {
+    }
+
+    public static void assertNull(String message, Object object) {
+    }
+
+    public static void assertNull(MessageSupplier message, Object object) {
+    }
+
+    public static void assertNull(Object object, String template, Object arg) {
+    }
+
+    public static void assertNull(Object object, String template, Object arg1, Object arg2) {
+    }
+
+    public static void assertNull(Object object, String template, Object arg1, Object arg2, Object arg3) {
+    }
+
+    public static void assertNull(Object object, String template, Object... args) {
+    }
+
+    public static void assertNull(Object object) {
+    }
+
+    public static void assertSame(String message, Object expected, Object actual) {
+    }
+
+    public static void assertSame(MessageSupplier message, Object expected, Object actual) {
+    }
+
+    public static void assertSame(Object expected, Object actual, String template, Object arg) {
+    }
+
+    public static void assertSame(Object expected, Object actual, String template, Object arg1, Object arg2) {
+    }
+
+    public static void assertSame(Object expected, Object actual, String template, Object arg1, Object arg2, Object arg3) {
+    }
+
+    public static void assertSame(Object expected, Object actual, String template, Object... args) {
+    }
+
+    public static void assertSame(Object expected, Object actual) {
+    }
+
+    public static void assertNotSame(String message, Object unexpected, Object actual) {
+    }
+
+    public static void assertNotSame(MessageSupplier message, Object unexpected, Object actual) {
+    }
+
+    public static void assertNotSame(Object unexpected, Object actual, String template, Object arg) {
+    }
+
+    public static void assertNotSame(Object unexpected, Object actual, String template, Object arg1, Object arg2) {
+    }
+
+    public static void assertNotSame(Object unexpected, Object actual, String template, Object arg1, Object arg2, Object arg3) {
+    }
+
+    public static void assertNotSame(Object unexpected, Object actual, String template, Object... args) {
+    }
+
+    public static void assertNotSame(Object unexpected, Object actual) {
+    }
+
+    public interface MessageSupplier {
+
+        String get();
+    }
+
+    public static void assertArrayEquals(String message, Object[] expecteds, Object[] actuals) {
+    }
+
+    public static void assertArrayEquals(Object[] expecteds, Object[] actuals) {
+    }
+
+    public static void assertArrayEquals(String message, long[] expecteds, long[] actuals) {
+    }
+
+    public static void assertArrayEquals(long[] expecteds, long[] actuals) {
+    }
+
+    public static void assertArrayEquals(String message, int[] expecteds, int[] actuals) {
+    }
+
+    public static void assertArrayEquals(int[] expecteds, int[] actuals) {
+    }
+
+    public static void assertArrayEquals(String message, short[] expecteds, short[] actuals) {
+    }
+
+    public static void assertArrayEquals(short[] expecteds, short[] actuals) {
+    }
+
+    public static void assertArrayEquals(String message, byte[] expecteds, byte[] actuals) {
+    }
+
+    public static void assertArrayEquals(byte[] expecteds, byte[] actuals) {
+    }
+
+    public static void assertArrayEquals(String message, char[] expecteds, char[] actuals) {
+    }
+
+    public static void assertArrayEquals(char[] expecteds, char[] actuals) {
+    }
+
+    public static void assertArrayEquals(String message, boolean[] expecteds, boolean[] actuals) {
+    }
+
+    public static void assertArrayEquals(boolean[] expecteds, boolean[] actuals) {
+    }
+
+    public static void assertArrayEquals(String message, double[] expecteds, double[] actuals, double delta) {
+    }
+
+    public static void assertArrayEquals(double[] expecteds, double[] actuals, double delta) {
+    }
+
+    public static void assertArrayEquals(String message, float[] expecteds, float[] actuals, float delta) {
+    }
+
+    public static void assertArrayEquals(float[] expecteds, float[] actuals, float delta) {
+    }
+
+    public static void assertIterableEquals(String message, Iterable<?> expected, Iterable<?> actual) {
+    }
+
+    public static void assertIterableEquals(Iterable<?> expected, Iterable<?> actual) {
+    }
+
+    public interface Predicate<T> {
+
+        boolean test(T element);
+    }
+
+    public static <T> void assertAllMatch(String message, Collection<T> elements, Predicate<? super T> predicate) {
+    }
+
+    public static <T> void assertAllMatch(Collection<T> elements, Predicate<? super T> predicate) {
+    }
+
+    public static <T> void assertAllMatch(String message, T[] elements, Predicate<? super T> predicate) {
+    }
+
+    public static <T> void assertAllMatch(T[] elements, Predicate<? super T> predicate) {
+    }
+
+    public static <T> void assertNoneMatch(String message, Collection<T> elements, Predicate<? super T> predicate) {
+    }
+
+    public static <T> void assertNoneMatch(Collection<T> elements, Predicate<? super T> predicate) {
+    }
+
+    public static <T> void assertNoneMatch(String message, T[] elements, Predicate<? super T> predicate) {
+    }
+
+    public static <T> void assertNoneMatch(T[] elements, Predicate<? super T> predicate) {
+    }
+
+    public interface ThrowingRunnable {
+
+        void run() throws Throwable;
+    }
+
+    public static void assertThrows(Class<? extends Throwable> expectedThrowable, ThrowingRunnable runnable) {
+    }
+
+    public static void assertCompletesWithin(String message, long budget, TimeUnit unit, ThrowingRunnable runnable) {
+        // Measured code is still part of application, its exceptions are propagated
+        try {
+            runnable.run();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable thrown) {
+            throw new RuntimeException(thrown);
+        }
+    }
+
+    public static long startBudget() {
+        return 0;
+    }
+
+    public static void assertWithinBudget(String message, long token, long budget, TimeUnit unit) {
+    }
+
+    public static void assertHoldsLock(String message, Object lock) {
+    }
+
+    public static void assertHoldsLock(Object lock) {
+    }
+
+    public static SoftAsserts soft() {
+        return new SoftAsserts();
+    }
+
+    public static SoftAsserts soft(AssertTag tag) {
+        return new SoftAsserts();
+    }
+
+    public interface Invariant {
+
+        boolean holds();
+    }
+
+    public static void assertSampled(String message, Invariant invariant) {
+    }
+
+    public static void assertSampled(AssertTag tag, String message, Invariant invariant) {
+    }
+
+    public static void assertTrue(AssertTag tag, String message, boolean condition) {
+    }
+
+    public static void assertTrue(AssertTag tag, boolean condition) {
+    }
+
+    public static void assertTrue(AssertTag tag, boolean condition, String template, Object arg) {
+    }
+
+    public static void assertFalse(AssertTag tag, String message, boolean condition) {
+    }
+
+    public static void assertFalse(AssertTag tag, boolean condition) {
+    }
+
+    public static void assertEquals(AssertTag tag, String message, Object expected, Object actual) {
+    }
+
+    public static void assertEquals(AssertTag tag, String message, long expected, long actual) {
+    }
+
+    public static void assertNotNull(AssertTag tag, String message, Object object) {
+    }
+
+    public static void assertNull(AssertTag tag, String message, Object object) {
+    }
+
+    public static void fail() {
+    }
+
+    public static void fail(String message) {
+    }
+
+    public static void fail(Throwable throwable) {
+    }
+
+    public static void fail(String message, Throwable throwable) {
+    }
+
+    public static void fail(AssertTag tag, String message) {
+    }
+
+    public static void fail(AssertTag tag, String message, Throwable throwable) {
+    }
+
+    public enum AssertMode {
+        LOG, DIALOG, DIALOG_ASYNC, THROW
+    }
+}
@@ -0,0 +1,27 @@
+package com.triangleleft.assertdialog;
+
+public final class CallSiteFingerprint {
+
+    CallSiteFingerprint() {
+    }
+
+    public static long of(Throwable throwable) {
+        return 0;
+    }
+
+    public static long of(StackTraceElement site) {
+        return 0;
+    }
+
+    public static String describe(long fingerprint) {
+        return null;
+    }
+
+    public static String toHex(long fingerprint) {
+        return null;
+    }
+
+    public static String format(long fingerprint) {
+        return null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.triangleleft.assertdialog;
+
+public interface FailureHandler {
+
+    void log(String message, Throwable throwable, long callSite);
+
+    DialogResult showDialog(String message, long timeoutMillis);
+
+    boolean showDialogAsync(String message);
+
+    enum DialogResult {
+        CONTINUED, TIMED_OUT, UNAVAILABLE, IGNORED
+    }
+}
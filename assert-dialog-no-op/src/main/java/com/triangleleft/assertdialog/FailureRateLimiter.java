@@ -0,0 +1,28 @@
+package com.triangleleft.assertdialog;
+
+import java.util.concurrent.TimeUnit;
+
+public final class FailureRateLimiter {
+
+    public static final class Builder {
+
+        public Builder setSiteRate(int burst, long interval, TimeUnit unit) {
+            return this;
+        }
+
+        public Builder setGlobalRate(int burst, long interval, TimeUnit unit) {
+            return this;
+        }
+
+        public Builder setDowngradeDialogs(boolean downgrade, long cooldown, TimeUnit unit) {
+            return this;
+        }
+
+        public FailureRateLimiter build() {
+            return new FailureRateLimiter();
+        }
+    }
+
+    FailureRateLimiter() {
+    }
+}
@@ -0,0 +1,35 @@
+package com.triangleleft.assertdialog;
+
+public final class FailureReport {
+
+    FailureReport() {
+    }
+
+    public long getTimestamp() {
+        return 0;
+    }
+
+    public String getThreadName() {
+        return null;
+    }
+
+    public Asserts.AssertMode getMode() {
+        return null;
+    }
+
+    public String getMessage() {
+        return null;
+    }
+
+    public Throwable getThrowable() {
+        return null;
+    }
+
+    public StackTraceElement getCallSite() {
+        return null;
+    }
+
+    public long getFingerprint() {
+        return 0;
+    }
+}
@@ -0,0 +1,8 @@
+package com.triangleleft.assertdialog;
+
+import java.util.List;
+
+public interface FailureReporter {
+
+    void report(List<FailureReport> reports, long dropped);
+}
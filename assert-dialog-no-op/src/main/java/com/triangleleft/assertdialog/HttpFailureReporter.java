@@ -0,0 +1,36 @@
+package com.triangleleft.assertdialog;
+
+import java.io.File;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public final class HttpFailureReporter implements FailureReporter {
+
+    HttpFailureReporter() {
+    }
+
+    public void report(List<FailureReport> reports, long dropped) {
+    }
+
+    public static final class Builder {
+
+        Builder() {
+        }
+
+        public Builder(URL endpoint) {
+        }
+
+        public Builder setRetryDir(File retryDir, int maxBatches) {
+            return this;
+        }
+
+        public Builder setTimeout(long timeout, TimeUnit unit) {
+            return this;
+        }
+
+        public HttpFailureReporter build() {
+            return new HttpFailureReporter();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.triangleleft.assertdialog;
+
+public interface ModalLoop {
+
+    boolean isAvailable();
+
+    void loop();
+
+    void quit();
+}
@@ -0,0 +1,14 @@
+package com.triangleleft.assertdialog;
+
+public class ReflectiveModalLoop implements ModalLoop {
+
+    public boolean isAvailable() {
+        return false;
+    }
+
+    public void loop() {
+    }
+
+    public void quit() {
+    }
+}
@@ -0,0 +1,19 @@
+package com.triangleleft.assertdialog;
+
+public final class SampleRate {
+
+    public static final SampleRate ALWAYS = new SampleRate();
+
+    public static final SampleRate NEVER = new SampleRate();
+
+    SampleRate() {
+    }
+
+    public static SampleRate everyNth(int n) {
+        return new SampleRate();
+    }
+
+    public static SampleRate probability(double p) {
+        return new SampleRate();
+    }
+}
@@ -0,0 +1,46 @@
+package com.triangleleft.assertdialog;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+public final class SnapshotCapture {
+
+    SnapshotCapture() {
+    }
+
+    public File getDir() {
+        return null;
+    }
+
+    public void close() {
+    }
+
+    public static final class Builder {
+
+        Builder() {
+        }
+
+        public Builder(File dir) {
+        }
+
+        public Builder setDumper(SnapshotDumper dumper) {
+            return this;
+        }
+
+        public Builder setThreadDumpCooldown(long cooldown, TimeUnit unit) {
+            return this;
+        }
+
+        public Builder setHeapDumps(boolean enabled, long cooldown, TimeUnit unit) {
+            return this;
+        }
+
+        public Builder setQuota(long bytes) {
+            return this;
+        }
+
+        public SnapshotCapture build() {
+            return new SnapshotCapture();
+        }
+    }
+}
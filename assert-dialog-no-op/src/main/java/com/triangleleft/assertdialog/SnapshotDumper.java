@@ -0,0 +1,11 @@
+package com.triangleleft.assertdialog;
+
+import java.io.File;
+import java.io.IOException;
+
+public interface SnapshotDumper {
+
+    void dumpThreads(File file, String message, Thread failingThread, long timestamp) throws IOException;
+
+    boolean dumpHeap(File file) throws IOException;
+}
@@ -0,0 +1,48 @@
+package com.triangleleft.assertdialog;
+
+import java.io.Closeable;
+
+public final class SoftAsserts implements Closeable {
+
+    SoftAsserts() {
+    }
+
+    public SoftAsserts assertTrue(String message, boolean condition) {
+        return this;
+    }
+
+    public SoftAsserts assertTrue(boolean condition, String template, Object... args) {
+        return this;
+    }
+
+    public SoftAsserts assertFalse(String message, boolean condition) {
+        return this;
+    }
+
+    public SoftAsserts assertEquals(String message, Object expected, Object actual) {
+        return this;
+    }
+
+    public SoftAsserts assertEquals(String message, long expected, long actual) {
+        return this;
+    }
+
+    public SoftAsserts assertNotNull(String message, Object object) {
+        return this;
+    }
+
+    public SoftAsserts assertNull(String message, Object object) {
+        return this;
+    }
+
+    public SoftAsserts fail(String message) {
+        return this;
+    }
+
+    public int getFailureCount() {
+        return 0;
+    }
+
+    public void close() {
+    }
+}
@@ -0,0 +1,21 @@
+package com.triangleleft.assertdialog;
+
+public final class StackCapture {
+
+    public static final StackCapture NONE = new StackCapture();
+
+    public static final StackCapture CALL_SITE = new StackCapture();
+
+    public static final StackCapture FULL = new StackCapture();
+
+    StackCapture() {
+    }
+
+    public static StackCapture top(int frames) {
+        return new StackCapture();
+    }
+
+    public int getFrames() {
+        return 0;
+    }
+}
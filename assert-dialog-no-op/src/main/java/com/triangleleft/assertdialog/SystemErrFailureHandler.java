@@ -0,0 +1,15 @@
+package com.triangleleft.assertdialog;
+
+public class SystemErrFailureHandler implements FailureHandler {
+
+    public void log(String message, Throwable throwable, long callSite) {
+    }
+
+    public DialogResult showDialog(String message, long timeoutMillis) {
+        return null;
+    }
+
+    public boolean showDialogAsync(String message) {
+        return false;
+    }
+}
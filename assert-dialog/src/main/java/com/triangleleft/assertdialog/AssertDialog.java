@@ -1,37 +1,29 @@
 package com.triangleleft.assertdialog;
 
-import android.app.AlertDialog;
 import android.content.Context;
-import android.content.DialogInterface;
-import android.content.DialogInterface.OnClickListener;
-import android.os.Build;
-import android.os.Handler;
 import android.os.Looper;
-import android.os.Message;
-import android.os.MessageQueue;
 import android.util.Log;
-import android.view.WindowManager;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.concurrent.CountDownLatch;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Shows alert dialog, blocking thread execution when assertion fails.
- * Based on JUnit Assert class.
- * As it's not possible to override static methods, I had to simple reuse source code.
- * Based on http://stackoverflow.com/questions/6120567/android-how-to-get-a-modal-dialog-or-similar-modal-behavior/6198192#6198192
+ * All assertions are inherited from {@link Asserts}, this class only plugs android
+ * {@link FailureHandler} into it.
  */
-public class AssertDialog {
+public class AssertDialog extends Asserts {
 
     private static final String TAG = AssertDialog.class.getSimpleName();
-    private static Method sMsgQueueNextMethod;
-    private static Field sMsgTargetField;
-    private static boolean sQuitModal;
-    private static Context sAppContext;
-    private static AssertMode sMode;
-    private static Method sMsgRecycleUnchecked;
+    private static final String JOURNAL_FILE = "assert-journal";
+    private static final String SNAPSHOT_DIR = "assert-snapshots";
+    private static final String IGNORED_SITES_FILE = "assert-ignored";
+    /**
+     * Sites written to log by metrics dump.
+     */
+    private static final int DUMP_SITES = 20;
 
     private AssertDialog() {
         // Static use only
@@ -44,813 +36,210 @@ public class AssertDialog {
      * @param context context to create dialog from.
      */
     public static void init(AssertMode mode, Context context) {
-        sAppContext = context;
-        sMode = mode;
+        init(mode, context, new LooperModalLoop());
     }
 
     /**
-     * Asserts that a condition is true. If it isn't it throws an
-     * {@link AssertionError} with the given message.
+     * Init assert dialog. Assertions ignored with "Ignore always" in previous runs are loaded
+     * from app files dir on background thread.
      *
-     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
-     * okay)
-     * @param condition condition to be checked
+     * @param mode      work mode
+     * @param context   context to create dialog from.
+     * @param modalLoop loop used to block main thread while dialog is shown
      */
-    public static void assertTrue(String message, boolean condition) {
-        if (!condition) {
-            fail(message);
-        }
+    public static void init(AssertMode mode, Context context, ModalLoop modalLoop) {
+        setConfig(new AssertConfig.Builder()
+                .setMode(mode)
+                .setHandler(new DialogFailureHandler(context, modalLoop))
+                .setIgnoredSites(IgnoredSites.open(getIgnoredSitesFile(context)))
+                .build());
     }
 
     /**
-     * Asserts that a condition is true. If it isn't it throws an
-     * {@link AssertionError} without a message.
-     *
-     * @param condition condition to be checked
-     */
-    public static void assertTrue(boolean condition) {
-        assertTrue(null, condition);
-    }
-
-    /**
-     * Asserts that a condition is false. If it isn't it throws an
+     * Asserts that current thread is main thread. If it isn't it throws an
      * {@link AssertionError} with the given message.
      *
      * @param message the identifying message for the {@link AssertionError} (<code>null</code>
      * okay)
-     * @param condition condition to be checked
-     */
-    public static void assertFalse(String message, boolean condition) {
-        assertTrue(message, !condition);
-    }
-
-    /**
-     * Asserts that a condition is false. If it isn't it throws an
-     * {@link AssertionError} without a message.
-     *
-     * @param condition condition to be checked
-     */
-    public static void assertFalse(boolean condition) {
-        assertFalse(null, condition);
-    }
-
-    /**
-     * Asserts that two objects are equal. If they are not, an
-     * {@link AssertionError} is thrown with the given message. If
-     * <code>expected</code> and <code>actual</code> are <code>null</code>,
-     * they are considered equal.
-     *
-     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
-     * okay)
-     * @param expected expected value
-     * @param actual actual value
-     */
-    public static void assertEquals(String message, Object expected,
-                                    Object actual) {
-        if (equalsRegardingNull(expected, actual)) {
-            return;
-        }
-
-        failNotEquals(message, expected, actual);
-    }
-
-    private static boolean equalsRegardingNull(Object expected, Object actual) {
-        if (expected == null) {
-            return actual == null;
-        }
-
-        return isEquals(expected, actual);
-    }
-
-    private static boolean isEquals(Object expected, Object actual) {
-        return expected.equals(actual);
-    }
-
-    /**
-     * Asserts that two objects are equal. If they are not, an
-     * {@link AssertionError} without a message is thrown. If
-     * <code>expected</code> and <code>actual</code> are <code>null</code>,
-     * they are considered equal.
-     *
-     * @param expected expected value
-     * @param actual the value to check against <code>expected</code>
-     */
-    public static void assertEquals(Object expected, Object actual) {
-        assertEquals(null, expected, actual);
-    }
-
-    /**
-     * Asserts that two objects are <b>not</b> equals. If they are, an
-     * {@link AssertionError} is thrown with the given message. If
-     * <code>unexpected</code> and <code>actual</code> are <code>null</code>,
-     * they are considered equal.
-     *
-     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
-     * okay)
-     * @param unexpected unexpected value to check
-     * @param actual the value to check against <code>unexpected</code>
      */
-    public static void assertNotEquals(String message, Object unexpected,
-                                       Object actual) {
-        if (equalsRegardingNull(unexpected, actual)) {
-            failEquals(message, actual);
-        }
-    }
-
-    /**
-     * Asserts that two objects are <b>not</b> equals. If they are, an
-     * {@link AssertionError} without a message is thrown. If
-     * <code>unexpected</code> and <code>actual</code> are <code>null</code>,
-     * they are considered equal.
-     *
-     * @param unexpected unexpected value to check
-     * @param actual the value to check against <code>unexpected</code>
-     */
-    public static void assertNotEquals(Object unexpected, Object actual) {
-        assertNotEquals(null, unexpected, actual);
-    }
-
-    private static void failEquals(String message, Object actual) {
-        String formatted = "Values should be different. ";
-        if (message != null) {
-            formatted = message + ". ";
-        }
-
-        formatted += "Actual: " + actual;
-        fail(formatted);
-    }
-
-    /**
-     * Asserts that two longs are <b>not</b> equals. If they are, an
-     * {@link AssertionError} is thrown with the given message.
-     *
-     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
-     * okay)
-     * @param unexpected unexpected value to check
-     * @param actual the value to check against <code>unexpected</code>
-     */
-    public static void assertNotEquals(String message, long unexpected, long actual) {
-        if (unexpected == actual) {
-            failEquals(message, Long.valueOf(actual));
-        }
-    }
-
-    /**
-     * Asserts that two longs are <b>not</b> equals. If they are, an
-     * {@link AssertionError} without a message is thrown.
-     *
-     * @param unexpected unexpected value to check
-     * @param actual the value to check against <code>unexpected</code>
-     */
-    public static void assertNotEquals(long unexpected, long actual) {
-        assertNotEquals(null, unexpected, actual);
-    }
-
-    /**
-     * Asserts that two doubles are <b>not</b> equal to within a positive delta.
-     * If they are, an {@link AssertionError} is thrown with the given
-     * message. If the unexpected value is infinity then the delta value is
-     * ignored. NaNs are considered equal:
-     * <code>assertNotEquals(Double.NaN, Double.NaN, *)</code> fails
-     *
-     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
-     * okay)
-     * @param unexpected unexpected value
-     * @param actual the value to check against <code>unexpected</code>
-     * @param delta the maximum delta between <code>unexpected</code> and
-     * <code>actual</code> for which both numbers are still
-     * considered equal.
-     */
-    public static void assertNotEquals(String message, double unexpected,
-                                       double actual, double delta) {
-        if (!doubleIsDifferent(unexpected, actual, delta)) {
-            failEquals(message, Double.valueOf(actual));
-        }
-    }
-
-    /**
-     * Asserts that two doubles are <b>not</b> equal to within a positive delta.
-     * If they are, an {@link AssertionError} is thrown. If the unexpected
-     * value is infinity then the delta value is ignored.NaNs are considered
-     * equal: <code>assertNotEquals(Double.NaN, Double.NaN, *)</code> fails
-     *
-     * @param unexpected unexpected value
-     * @param actual the value to check against <code>unexpected</code>
-     * @param delta the maximum delta between <code>unexpected</code> and
-     * <code>actual</code> for which both numbers are still
-     * considered equal.
-     */
-    public static void assertNotEquals(double unexpected, double actual, double delta) {
-        assertNotEquals(null, unexpected, actual, delta);
-    }
-
-    /**
-     * Asserts that two floats are <b>not</b> equal to within a positive delta.
-     * If they are, an {@link AssertionError} is thrown. If the unexpected
-     * value is infinity then the delta value is ignored.NaNs are considered
-     * equal: <code>assertNotEquals(Float.NaN, Float.NaN, *)</code> fails
-     *
-     * @param unexpected unexpected value
-     * @param actual the value to check against <code>unexpected</code>
-     * @param delta the maximum delta between <code>unexpected</code> and
-     * <code>actual</code> for which both numbers are still
-     * considered equal.
-     */
-    public static void assertNotEquals(float unexpected, float actual, float delta) {
-        assertNotEquals(null, unexpected, actual, delta);
-    }
-
-    /**
-     * Asserts that two doubles are equal to within a positive delta.
-     * If they are not, an {@link AssertionError} is thrown with the given
-     * message. If the expected value is infinity then the delta value is
-     * ignored. NaNs are considered equal:
-     * <code>assertEquals(Double.NaN, Double.NaN, *)</code> passes
-     *
-     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
-     * okay)
-     * @param expected expected value
-     * @param actual the value to check against <code>expected</code>
-     * @param delta the maximum delta between <code>expected</code> and
-     * <code>actual</code> for which both numbers are still
-     * considered equal.
-     */
-    public static void assertEquals(String message, double expected,
-                                    double actual, double delta) {
-        if (doubleIsDifferent(expected, actual, delta)) {
-            failNotEquals(message, Double.valueOf(expected), Double.valueOf(actual));
-        }
-    }
-
-    /**
-     * Asserts that two floats are equal to within a positive delta.
-     * If they are not, an {@link AssertionError} is thrown with the given
-     * message. If the expected value is infinity then the delta value is
-     * ignored. NaNs are considered equal:
-     * <code>assertEquals(Float.NaN, Float.NaN, *)</code> passes
-     *
-     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
-     * okay)
-     * @param expected expected value
-     * @param actual the value to check against <code>expected</code>
-     * @param delta the maximum delta between <code>expected</code> and
-     * <code>actual</code> for which both numbers are still
-     * considered equal.
-     */
-    public static void assertEquals(String message, float expected,
-                                    float actual, float delta) {
-        if (floatIsDifferent(expected, actual, delta)) {
-            failNotEquals(message, Float.valueOf(expected), Float.valueOf(actual));
-        }
-    }
-
-    /**
-     * Asserts that two floats are <b>not</b> equal to within a positive delta.
-     * If they are, an {@link AssertionError} is thrown with the given
-     * message. If the unexpected value is infinity then the delta value is
-     * ignored. NaNs are considered equal:
-     * <code>assertNotEquals(Float.NaN, Float.NaN, *)</code> fails
-     *
-     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
-     * okay)
-     * @param unexpected unexpected value
-     * @param actual the value to check against <code>unexpected</code>
-     * @param delta the maximum delta between <code>unexpected</code> and
-     * <code>actual</code> for which both numbers are still
-     * considered equal.
-     */
-    public static void assertNotEquals(String message, float unexpected,
-                                       float actual, float delta) {
-        if (!floatIsDifferent(unexpected, actual, delta)) {
-            failEquals(message, actual);
-        }
-    }
-
-    private static boolean doubleIsDifferent(double d1, double d2, double delta) {
-        if (Double.compare(d1, d2) == 0) {
-            return false;
-        }
-        if ((Math.abs(d1 - d2) <= delta)) {
-            return false;
-        }
-
-        return true;
-    }
-
-    private static boolean floatIsDifferent(float f1, float f2, float delta) {
-        if (Float.compare(f1, f2) == 0) {
-            return false;
+    public static void assertMainThread(String message) {
+        evaluated();
+        if (!MainThread.isCurrent() && !isIgnored()) {
+            fail(formatThread(message, "expected main thread"));
         }
-        if ((Math.abs(f1 - f2) <= delta)) {
-            return false;
-        }
-
-        return true;
     }
 
     /**
-     * Asserts that two longs are equal. If they are not, an
-     * {@link AssertionError} is thrown.
-     *
-     * @param expected expected long value.
-     * @param actual actual long value
+     * Asserts that current thread is main thread. If it isn't it throws an
+     * {@link AssertionError}.
      */
-    public static void assertEquals(long expected, long actual) {
-        assertEquals(null, expected, actual);
+    public static void assertMainThread() {
+        assertMainThread(null);
     }
 
     /**
-     * Asserts that two longs are equal. If they are not, an
-     * {@link AssertionError} is thrown with the given message.
+     * Asserts that current thread is not main thread, e.g. before disk or network I/O.
+     * If it is it throws an {@link AssertionError} with the given message.
      *
      * @param message the identifying message for the {@link AssertionError} (<code>null</code>
      * okay)
-     * @param expected long expected value.
-     * @param actual long actual value
      */
-    public static void assertEquals(String message, long expected, long actual) {
-        if (expected != actual) {
-            failNotEquals(message, Long.valueOf(expected), Long.valueOf(actual));
+    public static void assertNotMainThread(String message) {
+        evaluated();
+        if (MainThread.isCurrent() && !isIgnored()) {
+            fail(formatThread(message, "expected background thread"));
         }
     }
 
     /**
-     * Asserts that two doubles are equal to within a positive delta.
-     * If they are not, an {@link AssertionError} is thrown. If the expected
-     * value is infinity then the delta value is ignored.NaNs are considered
-     * equal: <code>assertEquals(Double.NaN, Double.NaN, *)</code> passes
-     *
-     * @param expected expected value
-     * @param actual the value to check against <code>expected</code>
-     * @param delta the maximum delta between <code>expected</code> and
-     * <code>actual</code> for which both numbers are still
-     * considered equal.
+     * Asserts that current thread is not main thread, e.g. before disk or network I/O.
+     * If it is it throws an {@link AssertionError}.
      */
-    public static void assertEquals(double expected, double actual, double delta) {
-        assertEquals(null, expected, actual, delta);
+    public static void assertNotMainThread() {
+        assertNotMainThread(null);
     }
 
     /**
-     * Asserts that two floats are equal to within a positive delta.
-     * If they are not, an {@link AssertionError} is thrown. If the expected
-     * value is infinity then the delta value is ignored. NaNs are considered
-     * equal: <code>assertEquals(Float.NaN, Float.NaN, *)</code> passes
-     *
-     * @param expected expected value
-     * @param actual the value to check against <code>expected</code>
-     * @param delta the maximum delta between <code>expected</code> and
-     * <code>actual</code> for which both numbers are still
-     * considered equal.
-     */
-    public static void assertEquals(float expected, float actual, float delta) {
-        assertEquals(null, expected, actual, delta);
-    }
-
-    /**
-     * Asserts that an object isn't null. If it is an {@link AssertionError} is
-     * thrown with the given message.
-     *
-     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
-     * okay)
-     * @param object Object to check or <code>null</code>
-     */
-    public static void assertNotNull(String message, Object object) {
-        assertTrue(message, object != null);
-    }
-
-    /**
-     * Asserts that an object isn't null. If it is an {@link AssertionError} is
-     * thrown.
-     *
-     * @param object Object to check or <code>null</code>
-     */
-    public static void assertNotNull(Object object) {
-        assertNotNull(null, object);
-    }
-
-    /**
-     * Asserts that an object is null. If it is not, an {@link AssertionError}
-     * is thrown with the given message.
+     * Asserts that current thread is thread of given looper. If it isn't it throws an
+     * {@link AssertionError} with the given message.
      *
      * @param message the identifying message for the {@link AssertionError} (<code>null</code>
      * okay)
-     * @param object Object to check or <code>null</code>
-     */
-    public static void assertNull(String message, Object object) {
-        if (object == null) {
-            return;
+     * @param looper  expected looper, <code>null</code> always fails
+     */
+    public static void assertOnLooper(String message, Looper looper) {
+        evaluated();
+        if (looper == null) {
+            // Thread can't be on looper that wasn't created (e.g. Looper.myLooper() of plain thread)
+            if (!isIgnored()) {
+                fail(formatThread(message, "expected thread of looper, but looper is null"));
+            }
+        } else if (looper.getThread() != Thread.currentThread() && !isIgnored()) {
+            fail(formatThread(message, "expected thread of " + looper));
         }
-        failNotNull(message, object);
     }
 
     /**
-     * Asserts that an object is null. If it isn't an {@link AssertionError} is
-     * thrown.
+     * Asserts that current thread is thread of given looper. If it isn't it throws an
+     * {@link AssertionError}.
      *
-     * @param object Object to check or <code>null</code>
+     * @param looper expected looper, <code>null</code> always fails
      */
-    public static void assertNull(Object object) {
-        assertNull(null, object);
-    }
-
-    private static void failNotNull(String message, Object actual) {
-        String formatted = "";
-        if (message != null) {
-            formatted = message + " ";
-        }
-        fail(formatted + "expected null, but was:<" + actual + ">");
+    public static void assertOnLooper(Looper looper) {
+        assertOnLooper(null, looper);
     }
 
     /**
-     * Asserts that two objects refer to the same object. If they are not, an
-     * {@link AssertionError} is thrown with the given message.
+     * Start persisting failures to journal in app files dir. Opening journal does disk I/O,
+     * so better call it off main thread. Journal enabled before is closed.
      *
-     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
-     * okay)
-     * @param expected the expected object
-     * @param actual the object to compare to <code>expected</code>
+     * @param context   context to get files dir from
+     * @param withStack true to keep top of stack in records
+     * @return opened journal, can be used to read records back
+     * @throws IOException if journal can't be opened
      */
-    public static void assertSame(String message, Object expected, Object actual) {
-        if (expected == actual) {
-            return;
+    public static AssertJournal enableJournal(Context context, boolean withStack) throws IOException {
+        AssertJournal journal = AssertJournal.open(getJournalFile(context), AssertJournal.DEFAULT_RECORDS, withStack);
+        AssertConfig config = getConfig();
+        AssertJournal previous = config == null ? null : config.getJournal();
+        setJournal(journal);
+        if (previous != null) {
+            previous.close();
         }
-        failNotSame(message, expected, actual);
+        return journal;
     }
 
     /**
-     * Asserts that two objects refer to the same object. If they are not the
-     * same, an {@link AssertionError} without a message is thrown.
-     *
-     * @param expected the expected object
-     * @param actual the object to compare to <code>expected</code>
+     * @param context context to get files dir from
+     * @return journal file used by {@link #enableJournal(Context, boolean)}
      */
-    public static void assertSame(Object expected, Object actual) {
-        assertSame(null, expected, actual);
+    public static File getJournalFile(Context context) {
+        return new File(context.getFilesDir(), JOURNAL_FILE);
     }
 
     /**
-     * Asserts that two objects do not refer to the same object. If they do
-     * refer to the same object, an {@link AssertionError} is thrown with the
-     * given message.
+     * Start taking thread dump of logged failures, at most once in 30 seconds, into dir in app
+     * files dir. Snapshots are written on background thread. Capture enabled before is closed.
      *
-     * @param message the identifying message for the {@link AssertionError} (<code>null</code>
-     * okay)
-     * @param unexpected the object you don't expect
-     * @param actual the object to compare to <code>unexpected</code>
+     * @param context   context to get files dir from
+     * @param heapDumps true to also take heap dump, at most once in 10 minutes. Heap dump
+     *                  suspends all threads while it's written, UI included
+     * @return started capture, can be closed to stop it
      */
-    public static void assertNotSame(String message, Object unexpected,
-                                     Object actual) {
-        if (unexpected == actual) {
-            failSame(message);
+    public static SnapshotCapture enableSnapshots(Context context, boolean heapDumps) {
+        SnapshotCapture capture = new SnapshotCapture.Builder(getSnapshotDir(context))
+                .setDumper(new HprofSnapshotDumper())
+                .setHeapDumps(heapDumps, 10, TimeUnit.MINUTES)
+                .build();
+        AssertConfig config = getConfig();
+        SnapshotCapture previous = config == null ? null : config.getSnapshotCapture();
+        setSnapshotCapture(capture);
+        if (previous != null) {
+            previous.close();
         }
+        return capture;
     }
 
     /**
-     * Asserts that two objects do not refer to the same object. If they do
-     * refer to the same object, an {@link AssertionError} without a message is
-     * thrown.
-     *
-     * @param unexpected the object you don't expect
-     * @param actual the object to compare to <code>unexpected</code>
+     * @param context context to get files dir from
+     * @return dir used by {@link #enableSnapshots(Context, boolean)}
      */
-    public static void assertNotSame(Object unexpected, Object actual) {
-        assertNotSame(null, unexpected, actual);
-    }
-
-    private static void failSame(String message) {
-        String formatted = "";
-        if (message != null) {
-            formatted = message + " ";
-        }
-        fail(formatted + "expected not same");
-    }
-
-    private static void failNotSame(String message, Object expected,
-                                    Object actual) {
-        String formatted = "";
-        if (message != null) {
-            formatted = message + " ";
-        }
-        fail(formatted + "expected same:<" + expected + "> was not:<" + actual
-                + ">");
-    }
-
-    private static void failNotEquals(String message, Object expected,
-                                      Object actual) {
-        fail(format(message, expected, actual));
-    }
-
-    static String format(String message, Object expected, Object actual) {
-        String formatted = "";
-        if (message != null && !"".equals(message)) {
-            formatted = message + " ";
-        }
-        String expectedString = String.valueOf(expected);
-        String actualString = String.valueOf(actual);
-        if (expectedString.equals(actualString)) {
-            return formatted + "expected: "
-                    + formatClassAndValue(expected, expectedString)
-                    + " but was: " + formatClassAndValue(actual, actualString);
-        } else {
-            return formatted + "expected:<" + expectedString + "> but was:<"
-                    + actualString + ">";
-        }
-    }
-
-    private static String formatClassAndValue(Object value, String valueString) {
-        String className = value == null ? "null" : value.getClass().getName();
-        return className + "<" + valueString + ">";
+    public static File getSnapshotDir(Context context) {
+        return new File(context.getFilesDir(), SNAPSHOT_DIR);
     }
 
     /**
-     * This interface facilitates the use of expectThrows from Java 8. It allows method references
-     * to void methods (that declare checked exceptions) to be passed directly into expectThrows
-     * without wrapping. It is not meant to be implemented directly.
-     *
-     * @since 4.13
+     * @param context context to get files dir from
+     * @return file ignored assertions are kept in, delete it to show them again after restart
      */
-    public interface ThrowingRunnable {
-        void run() throws Throwable;
+    public static File getIgnoredSitesFile(Context context) {
+        return new File(context.getFilesDir(), IGNORED_SITES_FILE);
     }
 
     /**
-     * Asserts that {@code runnable} throws an exception of type {@code expectedThrowable} when
-     * executed. If it does, the exception object is returned. If it does not throw an exception, an
-     * {@link AssertionError} is thrown. If it throws the wrong type of exception, an {@code
-     * AssertionError} is thrown describing the mismatch; the exception that was actually thrown can
-     * be obtained by calling {@link AssertionError#getCause}.
+     * Start counting evaluations and failures per call site, and periodically write most
+     * evaluated sites to log. Dump of metrics enabled before is stopped.
      *
-     * @param expectedThrowable the expected type of the exception
-     * @param runnable       a function that is expected to throw an exception when executed
-     * @since 4.13
-     */
-    public static void assertThrows(Class<? extends Throwable> expectedThrowable, ThrowingRunnable runnable) {
-        try {
-            runnable.run();
-        } catch (Throwable actualThrown) {
-            if (expectedThrowable.isInstance(actualThrown)) {
-                return;
-            } else {
-                String mismatchMessage = format("unexpected exception type thrown;",
-                        expectedThrowable.getSimpleName(), actualThrown.getClass().getSimpleName());
-
-                fail(mismatchMessage, actualThrown);
-                return;
-            }
-        }
-        String message = String.format("expected %s to be thrown, but nothing was thrown",
-                expectedThrowable.getSimpleName());
-        fail(message);
-    }
-
-
-    /**
-     * Fails a test with no message.
+     * @param sampleInterval resolve call site of every Nth evaluation
+     * @param dumpPeriod     time between writing counts to log
+     * @return metrics, can be used to get snapshot at any time
      */
-    public static void fail() {
-        fail(null, null);
-    }
-
-    /**
-     * Display assert dialog with message.
-     * @param message message to display
-     */
-    public static void fail(String message) {
-        fail(message, null);
-    }
-
-    /**
-     * Display assert dialog with message taken from throwable.
-     * @param throwable throwable to display
-     */
-    public static void fail(Throwable throwable) {
-        String message = null;
-        if (throwable != null) {
-            if (throwable.getMessage() != null) {
-                message = throwable.getMessage();
-            } else {
-                message = throwable.getClass().getSimpleName();
+    public static AssertMetrics enableMetrics(int sampleInterval, long dumpPeriod, TimeUnit unit) {
+        AssertMetrics metrics = new AssertMetrics(sampleInterval);
+        metrics.startDump(dumpPeriod, unit, new AssertMetrics.DumpListener() {
+            @Override
+            public void onDump(List<AssertMetrics.SiteSnapshot> snapshot) {
+                for (int i = 0; i < snapshot.size() && i < DUMP_SITES; i++) {
+                    Log.i(TAG, snapshot.get(i).toString());
+                }
             }
+        });
+        AssertConfig config = getConfig();
+        AssertMetrics previous = config == null ? null : config.getMetrics();
+        setMetrics(metrics);
+        if (previous != null) {
+            previous.stopDump();
         }
-        fail(message, throwable);
+        return metrics;
     }
 
     /**
-     * Display assert dialog with message.
-     * @param message message to display
-     * @param throwable throwable to log
+     * Start checking that every message dispatched by main looper, including ones dispatched
+     * while failure dialog is shown, completes within given budget. Message logging set on
+     * main looper before keeps receiving its lines. Must be called on main thread.
+     *
+     * @param budget max time single message may take
+     * @param unit   unit of budget
      */
-    public static void fail(final String message, Throwable throwable) {
-        if (sAppContext == null || sMode == null) {
-            throw new IllegalStateException("You have to call init() first");
-        }
-
-        if (throwable == null) {
-            throwable = new Throwable();
-        }
-
-        /**
-         * If no message was passed, use default one.
-         */
-        if (message == null) {
-            Log.wtf(TAG, sAppContext.getString(R.string.assert_fail), throwable);
-        } else {
-            Log.wtf(TAG, message, throwable);
-        }
-
-        switch (sMode) {
-            case LOG:
-                // Log only, we've already done it
-                return;
-            case THROW:
-                // Throw error only
-                throw new AssertionError(message);
-            case DIALOG:
-                // Do nothing, we would show dialog message below
-                break;
-            default:
-                throw new IllegalStateException("Unknown mode " + sMode);
-        }
-
-        if (!prepareModal()) {
-            throw new IllegalStateException("Failed to show dialog");
-        }
-
-        final CountDownLatch latch = new CountDownLatch(1);
-
-        Runnable runnable = new Runnable() {
-            @Override
-            public void run() {
-
-                // build alert dialog
-                AlertDialog.Builder builder = new AlertDialog.Builder(sAppContext);
-                builder.setTitle(R.string.assert_fail);
-                builder.setMessage(message);
-                builder.setCancelable(false);
-                builder.setPositiveButton(R.string.button_continue,
-                        new DialogInterface.OnClickListener() {
-                            public void onClick(DialogInterface dialog, int which) {
-                                Log.wtf(TAG, sAppContext.getString(R.string.selected_option,
-                                        sAppContext.getString(R.string.button_continue)));
-                                sQuitModal = true;
-                                dialog.dismiss();
-                                latch.countDown();
-                            }
-                        });
-                builder.setNegativeButton(R.string.button_stop, new OnClickListener() {
-                    @Override
-                    public void onClick(DialogInterface dialog, int which) {
-                        Log.wtf(TAG, sAppContext.getString(R.string.selected_option,
-                                sAppContext.getString(R.string.button_stop)));
-                        // Stop whole application
-                        System.exit(1);
-                        // We probably don't need this, but still.
-                        latch.countDown();
-                    }
-                });
-
-                AlertDialog dialog = builder.create();
-                dialog.getWindow().setType(WindowManager.LayoutParams.TYPE_SYSTEM_ALERT);
-                dialog.show();
-            }
-        };
-
-        // We can show dialogs only on main thread
-        if (Looper.getMainLooper().getThread().equals(Thread.currentThread())) {
-            // Ui thread, just run runnable
-            runnable.run();
-            // and "Block" ui thread
-            doModal();
-        } else {
-            // We need to execute it on main thread
-            new Handler(Looper.getMainLooper()).post(runnable);
-            // Now halt execution until dialog button is pressed
-            try {
-                latch.await();
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }
-    }
-
-    private static boolean prepareModal() {
-        Class<?> clsMsgQueue;
-        Class<?> clsMessage;
-
-        try {
-            clsMsgQueue = Class.forName("android.os.MessageQueue");
-        } catch (ClassNotFoundException e) {
-            e.printStackTrace();
-            return false;
-        }
-
-        try {
-            clsMessage = Class.forName("android.os.Message");
-        } catch (ClassNotFoundException e) {
-            e.printStackTrace();
-            return false;
-        }
-
-        try {
-            sMsgQueueNextMethod = clsMsgQueue.getDeclaredMethod("next");
-        } catch (SecurityException e) {
-            e.printStackTrace();
-            return false;
-        } catch (NoSuchMethodException e) {
-            e.printStackTrace();
-            return false;
-        }
-
-        sMsgQueueNextMethod.setAccessible(true);
-
-        try {
-            sMsgTargetField = clsMessage.getDeclaredField("target");
-        } catch (SecurityException e) {
-            e.printStackTrace();
-            return false;
-        } catch (NoSuchFieldException e) {
-            e.printStackTrace();
-            return false;
-        }
-
-        sMsgTargetField.setAccessible(true);
-
-        // Starting from lollipop we have to use unchecked version
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-
-            try {
-                sMsgRecycleUnchecked = clsMessage.getDeclaredMethod("recycleUnchecked");
-            } catch (SecurityException | NoSuchMethodException e) {
-                e.printStackTrace();
-                return false;
-            }
-
-            sMsgRecycleUnchecked.setAccessible(true);
-        }
-
-        return true;
-    }
-
-    private static void doModal() {
-        sQuitModal = false;
-
-        // get message queue associated with main UI thread
-        MessageQueue queue = Looper.myQueue();
-        while (!sQuitModal) {
-            // call queue.next(), might block
-            Message msg = null;
-            try {
-                msg = (Message) sMsgQueueNextMethod.invoke(queue);
-            } catch (IllegalArgumentException | IllegalAccessException | InvocationTargetException e) {
-                e.printStackTrace();
-            }
-
-            if (msg != null) {
-                Handler target = null;
-                try {
-                    target = (Handler) sMsgTargetField.get(msg);
-                } catch (IllegalArgumentException | IllegalAccessException e) {
-                    e.printStackTrace();
-                }
-
-                if (target == null) {
-                    // No target is a magic identifier for the quit message.
-                    sQuitModal = true;
-                    break;
-                }
-
-                target.dispatchMessage(msg);
-                // Starting from lollipop we have to use unchecked version
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-                    try {
-                        sMsgRecycleUnchecked.invoke(msg);
-                    } catch (IllegalAccessException e) {
-                        e.printStackTrace();
-                    } catch (InvocationTargetException e) {
-                        e.printStackTrace();
-                    }
-                } else {
-                    msg.recycle();
-                }
-            }
-        }
+    public static void watchMainLooper(long budget, TimeUnit unit) {
+        LooperBudgetWatcher.start(unit.toNanos(budget));
     }
 
     /**
-     * Work mode. Defines what to do in case that assertion fails.
+     * Stop checking main looper messages, restoring its previous message logging. Must be called
+     * on main thread.
      */
-    public enum AssertMode {
-        /**
-         * Log assert to Log.wtf
-         */
-        LOG,
-        /**
-         * Show dialog, blocking current thread.
-         */
-        DIALOG,
-        /**
-         * Throw AssertionException
-         */
-        THROW
+    public static void stopWatchingMainLooper() {
+        LooperBudgetWatcher.stop();
     }
 }
@@ -0,0 +1,387 @@
+package com.triangleleft.assertdialog;
+
+import android.app.AlertDialog;
+import android.content.Context;
+import android.content.DialogInterface;
+import android.content.DialogInterface.OnClickListener;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.WindowManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Android failure handler: logs failures to Log.wtf and shows them in modal alert dialog.
+ * Failures from all threads are queued on main thread and shown in single dialog, which lists
+ * all pending failures. Waiting threads can be released together, or one by one, or stop waiting
+ * by themselves when wait timeout expires. Single waiting failure can also be ignored from now on.
+ * Based on http://stackoverflow.com/questions/6120567/android-how-to-get-a-modal-dialog-or-similar-modal-behavior/6198192#6198192
+ */
+class DialogFailureHandler implements FailureHandler {
+
+    private static final String TAG = AssertDialog.class.getSimpleName();
+
+    private final Context mAppContext;
+    private final ModalLoop mModalLoop;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    // Accessed on main thread only
+    private final List<PendingFailure> mPending = new ArrayList<>();
+    private AlertDialog mDialog;
+    /**
+     * Neutral button of shown dialog, 0 if it has none.
+     */
+    private int mDialogNeutralButton;
+
+    DialogFailureHandler(Context appContext, ModalLoop modalLoop) {
+        mAppContext = appContext;
+        mModalLoop = modalLoop;
+    }
+
+    @Override
+    public void log(String message, Throwable throwable, long callSite) {
+        /**
+         * If no message was passed, use default one.
+         */
+        if (message == null) {
+            message = mAppContext.getString(R.string.assert_fail);
+        }
+        // Fingerprint lets log entries of same assertion be grouped
+        if (callSite != 0) {
+            message = message + " [" + CallSiteFingerprint.format(callSite) + "]";
+        }
+        Log.wtf(TAG, message, throwable);
+    }
+
+    @Override
+    public DialogResult showDialog(String message, long timeoutMillis) {
+        // We can show dialogs only on main thread
+        boolean mainThread = MainThread.isCurrent();
+        if (mainThread && !mModalLoop.isAvailable()) {
+            // We can't block main thread without modal loop
+            return DialogResult.UNAVAILABLE;
+        }
+
+        final PendingFailure failure = new PendingFailure(message, mainThread, true);
+        if (mainThread) {
+            // Ui thread, just add failure
+            enqueue(failure);
+            if (timeoutMillis > 0) {
+                failure.mTimeout = new Runnable() {
+                    @Override
+                    public void run() {
+                        expire(failure);
+                    }
+                };
+                mMainHandler.postDelayed(failure.mTimeout, timeoutMillis);
+            }
+            // and "Block" ui thread. Loop may be quit because of nested failure, so check that
+            // it was our failure that was released.
+            int budgetToken = LooperBudgetWatcher.enterModal();
+            while (!failure.mReleased) {
+                mModalLoop.loop();
+            }
+            LooperBudgetWatcher.exitModal(budgetToken);
+            if (failure.mTimeout != null) {
+                mMainHandler.removeCallbacks(failure.mTimeout);
+            }
+            if (failure.mExpired) {
+                return DialogResult.TIMED_OUT;
+            }
+            return failure.mIgnored ? DialogResult.IGNORED : DialogResult.CONTINUED;
+        }
+
+        // We need to add it on main thread
+        mMainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                enqueue(failure);
+            }
+        });
+        // Now halt execution until failure is released, or time is out
+        try {
+            if (timeoutMillis == 0) {
+                failure.mLatch.await();
+                return failure.mIgnored ? DialogResult.IGNORED : DialogResult.CONTINUED;
+            }
+            if (failure.mLatch.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                return failure.mIgnored ? DialogResult.IGNORED : DialogResult.CONTINUED;
+            }
+        } catch (InterruptedException e) {
+            // Someone wants this thread to stop: keep interrupt status and stop waiting
+            Thread.currentThread().interrupt();
+        }
+        // Nobody is waiting for this failure anymore, so remove it from dialog
+        mMainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (mPending.remove(failure)) {
+                    updateDialog();
+                }
+            }
+        });
+        return DialogResult.TIMED_OUT;
+    }
+
+    @Override
+    public boolean showDialogAsync(String message) {
+        // Nobody waits for this failure, so it never blocks loops and just stays in dialog
+        // until it's dismissed
+        final PendingFailure failure = new PendingFailure(message, false, false);
+        if (MainThread.isCurrent()) {
+            enqueue(failure);
+        } else {
+            mMainHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    enqueue(failure);
+                }
+            });
+        }
+        return true;
+    }
+
+
+    private void enqueue(PendingFailure failure) {
+        mPending.add(failure);
+        updateDialog();
+    }
+
+    /**
+     * Release all pending failures. Nested main thread loops are quit innermost first.
+     */
+    private void releaseAll() {
+        for (int i = mPending.size() - 1; i >= 0; i--) {
+            release(mPending.get(i));
+        }
+        mPending.clear();
+    }
+
+    /**
+     * Release oldest failure, that can be released: main thread failure can be released only
+     * if there is no failure nested in it.
+     */
+    private void releaseOne() {
+        int innermostMain = -1;
+        for (int i = mPending.size() - 1; i >= 0; i--) {
+            if (mPending.get(i).mMainThread) {
+                innermostMain = i;
+                break;
+            }
+        }
+        for (int i = 0; i < mPending.size(); i++) {
+            PendingFailure failure = mPending.get(i);
+            if (!failure.mMainThread || i == innermostMain) {
+                mPending.remove(i);
+                release(failure);
+                // Released failure could've been the last one that was holding expired ones
+                releaseExpired();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Main thread wait for failure has timed out.
+     */
+    private void expire(PendingFailure failure) {
+        if (failure.mReleased) {
+            return;
+        }
+        failure.mExpired = true;
+        releaseExpired();
+        updateDialog();
+    }
+
+    /**
+     * Release expired main thread failures. Nested loops can be quit only innermost first, so
+     * expired failure is released only when all main thread failures nested in it are released.
+     */
+    private void releaseExpired() {
+        for (int i = mPending.size() - 1; i >= 0; i--) {
+            PendingFailure failure = mPending.get(i);
+            if (!failure.mMainThread) {
+                continue;
+            }
+            if (!failure.mExpired) {
+                return;
+            }
+            mPending.remove(i);
+            release(failure);
+        }
+    }
+
+    private void release(PendingFailure failure) {
+        failure.mReleased = true;
+        if (failure.mMainThread) {
+            mModalLoop.quit();
+        } else {
+            failure.mLatch.countDown();
+        }
+    }
+
+    private void updateDialog() {
+        if (mPending.isEmpty()) {
+            if (mDialog != null) {
+                mDialog.dismiss();
+                mDialog = null;
+            }
+            return;
+        }
+
+        int neutralButton = getNeutralButton();
+        if (mDialog != null && neutralButton != mDialogNeutralButton) {
+            // Buttons can't be changed in shown dialog, so recreate it
+            mDialog.dismiss();
+            mDialog = null;
+        }
+
+        if (mDialog == null) {
+            mDialog = createDialog(neutralButton);
+            mDialogNeutralButton = neutralButton;
+            mDialog.show();
+        } else {
+            mDialog.setTitle(getTitle());
+            mDialog.setMessage(getMessage());
+        }
+    }
+
+    /**
+     * Neutral button releases one failure when there are several of them, or ignores single
+     * failure, if some thread waits for it.
+     */
+    private int getNeutralButton() {
+        if (mPending.size() > 1) {
+            return R.string.button_continue_one;
+        }
+        return mPending.get(0).mWaiting ? R.string.button_ignore : 0;
+    }
+
+    private AlertDialog createDialog(int neutralButton) {
+        // build alert dialog
+        AlertDialog.Builder builder = new AlertDialog.Builder(mAppContext);
+        builder.setTitle(getTitle());
+        builder.setMessage(getMessage());
+        builder.setCancelable(false);
+        builder.setPositiveButton(R.string.button_continue,
+                new DialogInterface.OnClickListener() {
+                    public void onClick(DialogInterface dialog, int which) {
+                        logSelectedOption(R.string.button_continue);
+                        // Button click dismisses dialog itself
+                        mDialog = null;
+                        releaseAll();
+                    }
+                });
+        if (neutralButton == R.string.button_continue_one) {
+            builder.setNeutralButton(R.string.button_continue_one, new OnClickListener() {
+                @Override
+                public void onClick(DialogInterface dialog, int which) {
+                    logSelectedOption(R.string.button_continue_one);
+                    mDialog = null;
+                    releaseOne();
+                    // Show the rest
+                    updateDialog();
+                }
+            });
+        } else if (neutralButton == R.string.button_ignore) {
+            builder.setNeutralButton(R.string.button_ignore, new OnClickListener() {
+                @Override
+                public void onClick(DialogInterface dialog, int which) {
+                    logSelectedOption(R.string.button_ignore);
+                    mDialog = null;
+                    // Waiting thread adds its call site to ignored ones
+                    for (PendingFailure failure : mPending) {
+                        failure.mIgnored = true;
+                    }
+                    releaseAll();
+                }
+            });
+        }
+        builder.setNegativeButton(R.string.button_stop, new OnClickListener() {
+            @Override
+            public void onClick(DialogInterface dialog, int which) {
+                logSelectedOption(R.string.button_stop);
+                // Stop whole application
+                System.exit(1);
+                // We probably don't need this, but still.
+                mDialog = null;
+                releaseAll();
+            }
+        });
+
+        AlertDialog dialog = builder.create();
+        dialog.getWindow().setType(WindowManager.LayoutParams.TYPE_SYSTEM_ALERT);
+        return dialog;
+    }
+
+    private void logSelectedOption(int option) {
+        Log.wtf(TAG, mAppContext.getString(R.string.selected_option, mAppContext.getString(option)));
+    }
+
+    private String getTitle() {
+        if (mPending.size() == 1) {
+            return mAppContext.getString(R.string.assert_fail);
+        }
+        return mAppContext.getString(R.string.assert_fail_count, mPending.size());
+    }
+
+    private String getMessage() {
+        if (mPending.size() == 1) {
+            String message = mPending.get(0).mMessage;
+            return message == null ? "" : message;
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < mPending.size(); i++) {
+            if (i > 0) {
+                builder.append("\n\n");
+            }
+            String message = mPending.get(i).mMessage;
+            builder.append(i + 1).append(". ")
+                    .append(message == null ? mAppContext.getString(R.string.assert_fail) : message);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Failure waiting for user decision.
+     */
+    private static final class PendingFailure {
+        final String mMessage;
+        final boolean mMainThread;
+        /**
+         * Some thread waits for this failure, false for failures shown asynchronously.
+         */
+        final boolean mWaiting;
+        /**
+         * Released background thread waits on it.
+         */
+        final CountDownLatch mLatch = new CountDownLatch(1);
+        /**
+         * Checked by main thread modal loop, accessed on main thread only.
+         */
+        boolean mReleased;
+        /**
+         * Main thread wait has timed out, accessed on main thread only.
+         */
+        boolean mExpired;
+        /**
+         * Posted to expire main thread wait, <code>null</code> if it's not limited.
+         */
+        Runnable mTimeout;
+        /**
+         * User asked to ignore this failure from now on. Written on main thread before release,
+         * so released thread sees it.
+         */
+        boolean mIgnored;
+
+        PendingFailure(String message, boolean mainThread, boolean waiting) {
+            mMessage = message;
+            mMainThread = mainThread;
+            mWaiting = waiting;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.triangleleft.assertdialog;
+
+import android.os.Debug;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Thread dumper, that also writes heap dumps with {@link Debug#dumpHprofData(String)}.
+ * Resulting file has to be converted with hprof-conv to be opened by desktop tools.
+ */
+public class HprofSnapshotDumper extends ThreadSnapshotDumper {
+
+    @Override
+    public boolean dumpHeap(File file) throws IOException {
+        Debug.dumpHprofData(file.getAbsolutePath());
+        return true;
+    }
+}
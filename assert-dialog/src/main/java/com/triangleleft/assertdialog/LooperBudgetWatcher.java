@@ -0,0 +1,144 @@
+package com.triangleleft.assertdialog;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Printer;
+
+import java.lang.reflect.Field;
+
+/**
+ * Measures every message dispatched by main {@link Looper}, including ones dispatched by nested
+ * modal loop, and fails if it takes longer than budget. Uses {@link Looper#setMessageLogging},
+ * which prints line before and after each dispatched message.
+ * <p>
+ * Messages during which failure dialog blocked main thread are not checked, they are slow
+ * because of dialog itself. Failure is posted as separate message, so dialog is never shown
+ * from inside framework logging. All state is accessed on main thread only.
+ * <p>
+ * Looper has no getter for its logging, so printer that was set before is found with reflection.
+ * If it's found, it keeps receiving all lines, and it's set back when watching stops.
+ */
+final class LooperBudgetWatcher implements Printer {
+
+    private static final String DISPATCH_START = ">>>>> Dispatching to ";
+    private static final String DISPATCH_END = "<<<<< Finished to ";
+    /**
+     * Deeper nested dispatches are not measured.
+     */
+    private static final int MAX_DEPTH = 16;
+
+    private static LooperBudgetWatcher sActive;
+
+    private final long mBudgetNanos;
+    private final Printer mPrevious;
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private final long[] mStarts = new long[MAX_DEPTH];
+    private final int[] mModalCounts = new int[MAX_DEPTH];
+    private final String[] mTargets = new String[MAX_DEPTH];
+    private int mDepth;
+    /**
+     * Incremented each time failure dialog blocked main thread.
+     */
+    private int mModalCount;
+
+    private LooperBudgetWatcher(long budgetNanos, Printer previous) {
+        mBudgetNanos = budgetNanos;
+        mPrevious = previous;
+    }
+
+    /**
+     * Start watching main looper, chaining to its current message logging.
+     */
+    static void start(long budgetNanos) {
+        checkMainThread();
+        // Restarted watcher chains to what first one has found, not to the first one
+        Printer previous = sActive != null ? sActive.mPrevious : currentLogging(Looper.getMainLooper());
+        sActive = new LooperBudgetWatcher(budgetNanos, previous);
+        Looper.getMainLooper().setMessageLogging(sActive);
+    }
+
+    /**
+     * Stop watching main looper, restoring message logging it had before.
+     */
+    static void stop() {
+        checkMainThread();
+        if (sActive != null) {
+            Looper.getMainLooper().setMessageLogging(sActive.mPrevious);
+            sActive = null;
+        }
+    }
+
+    /**
+     * Called on main thread before it's blocked by failure dialog.
+     *
+     * @return token for {@link #exitModal(int)}
+     */
+    static int enterModal() {
+        return sActive == null ? -1 : sActive.mDepth;
+    }
+
+    /**
+     * Called on main thread after failure dialog was dismissed.
+     *
+     * @param token value returned by {@link #enterModal()}
+     */
+    static void exitModal(int token) {
+        if (sActive != null && token >= 0) {
+            // Modal loop could've been quit from inside dispatch, which is never finished then
+            sActive.mDepth = Math.min(token, sActive.mDepth);
+            sActive.mModalCount++;
+        }
+    }
+
+    @Override
+    public void println(String line) {
+        if (mPrevious != null) {
+            mPrevious.println(line);
+        }
+        if (line.startsWith(DISPATCH_START)) {
+            if (mDepth < MAX_DEPTH) {
+                mStarts[mDepth] = System.nanoTime();
+                mModalCounts[mDepth] = mModalCount;
+                mTargets[mDepth] = line;
+            }
+            mDepth++;
+        } else if (line.startsWith(DISPATCH_END) && mDepth > 0) {
+            mDepth--;
+            if (mDepth >= MAX_DEPTH || mModalCounts[mDepth] != mModalCount) {
+                return;
+            }
+            long elapsed = System.nanoTime() - mStarts[mDepth];
+            String target = mTargets[mDepth];
+            mTargets[mDepth] = null;
+            if (elapsed > mBudgetNanos) {
+                final String message = Asserts.formatBudget("Main thread message", elapsed, mBudgetNanos)
+                        + ": " + target.substring(DISPATCH_START.length());
+                mHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        Asserts.fail(message);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * @return message logging of looper, or <code>null</code> if there is none, or it can't be read
+     */
+    private static Printer currentLogging(Looper looper) {
+        try {
+            Field logging = Looper.class.getDeclaredField("mLogging");
+            logging.setAccessible(true);
+            return (Printer) logging.get(looper);
+        } catch (NoSuchFieldException | IllegalAccessException | ClassCastException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private static void checkMainThread() {
+        if (!MainThread.isCurrent()) {
+            throw new IllegalStateException("Must be called on main thread");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.triangleleft.assertdialog;
+
+import android.os.Handler;
+import android.os.Looper;
+
+/**
+ * Modal loop that runs nested {@link Looper#loop()}, so main thread messages (including
+ * Choreographer frames) are dispatched by framework itself, without any reflection.
+ * Loop is stopped by posting message that throws sentinel exception, which unwinds nested
+ * {@link Looper#loop()} call.
+ * <p>
+ * Unwinding skips end of message dispatch in framework: quit message is not recycled, and its
+ * trace section and observer callbacks are not ended. On API 30+ looper also stays marked as
+ * looping, so every further modal loop logs "Loop again would have the queued messages be
+ * executed before this one completed" warning. Messages are still dispatched in order, it's
+ * only noise in log. If it matters, use {@link ReflectiveModalLoop}.
+ */
+public class LooperModalLoop implements ModalLoop {
+
+    private static final QuitModalException QUIT_EXCEPTION = new QuitModalException();
+
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    /**
+     * Number of running loops, accessed on main thread only.
+     */
+    private int mDepth;
+    private final Runnable mQuitRunnable = new Runnable() {
+        @Override
+        public void run() {
+            // Quit posted after its loop has ended must not crash outer Looper.loop()
+            if (mDepth > 0) {
+                throw QUIT_EXCEPTION;
+            }
+        }
+    };
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public void loop() {
+        mDepth++;
+        try {
+            Looper.loop();
+        } catch (QuitModalException e) {
+            // Expected, that's how we quit
+        } finally {
+            mDepth--;
+        }
+    }
+
+    @Override
+    public void quit() {
+        mHandler.post(mQuitRunnable);
+    }
+
+    /**
+     * Shared sentinel, thrown only by our own quit message, so there is no need for stack trace.
+     */
+    private static final class QuitModalException extends RuntimeException {
+
+        QuitModalException() {
+            super("Quit modal loop");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.triangleleft.assertdialog;
+
+import android.os.Looper;
+
+/**
+ * Cached main thread, so checking thread costs single reference comparison.
+ */
+final class MainThread {
+
+    private MainThread() {
+        // Static use only
+    }
+
+    /**
+     * @return true if called on main thread
+     */
+    static boolean isCurrent() {
+        return Holder.THREAD == Thread.currentThread();
+    }
+
+    /**
+     * Lazy holder, main looper is looked up on first check, not when assert classes are loaded.
+     */
+    private static final class Holder {
+        static final Thread THREAD = Looper.getMainLooper().getThread();
+    }
+}
@@ -0,0 +1,23 @@
+package com.triangleleft.assertdialog;
+
+/**
+ * Strategy that "blocks" main thread while assert dialog is shown, still dispatching its messages,
+ * so dialog (and rest of UI) stays responsive.
+ */
+public interface ModalLoop {
+
+    /**
+     * @return true if this loop can be used on current device
+     */
+    boolean isAvailable();
+
+    /**
+     * Dispatch main thread messages until {@link #quit()} is called. Must be called on main thread.
+     */
+    void loop();
+
+    /**
+     * Stop innermost running {@link #loop()}. Must be called on main thread.
+     */
+    void quit();
+}
@@ -0,0 +1,78 @@
+package com.triangleleft.assertdialog;
+
+import android.os.Build;
+import android.util.Log;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Reflection handles required to run modal loop on the main thread.
+ * Handles are resolved only once, on first use, and never change afterwards. If resolution
+ * fails, that result is remembered too, so later failures don't repeat reflection lookups.
+ */
+final class ModalLoopCapability {
+
+    private static final String TAG = ModalLoopCapability.class.getSimpleName();
+
+    private static final ModalLoopCapability UNAVAILABLE = new ModalLoopCapability(null, null, null);
+
+    final Method queueNext;
+    final Field messageTarget;
+    /**
+     * Null before lollipop, where {@link android.os.Message#recycle()} is used instead.
+     */
+    final Method messageRecycleUnchecked;
+
+    private ModalLoopCapability(Method queueNext, Field messageTarget, Method messageRecycleUnchecked) {
+        this.queueNext = queueNext;
+        this.messageTarget = messageTarget;
+        this.messageRecycleUnchecked = messageRecycleUnchecked;
+    }
+
+    /**
+     * @return resolved capability, safe to use from any thread
+     */
+    static ModalLoopCapability get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @return true if all handles were resolved and modal loop can be run
+     */
+    boolean isAvailable() {
+        return queueNext != null;
+    }
+
+    private static ModalLoopCapability resolve() {
+        try {
+            Class<?> clsMsgQueue = Class.forName("android.os.MessageQueue");
+            Class<?> clsMessage = Class.forName("android.os.Message");
+
+            Method queueNext = clsMsgQueue.getDeclaredMethod("next");
+            queueNext.setAccessible(true);
+
+            Field messageTarget = clsMessage.getDeclaredField("target");
+            messageTarget.setAccessible(true);
+
+            Method messageRecycleUnchecked = null;
+            // Starting from lollipop we have to use unchecked version
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                messageRecycleUnchecked = clsMessage.getDeclaredMethod("recycleUnchecked");
+                messageRecycleUnchecked.setAccessible(true);
+            }
+
+            return new ModalLoopCapability(queueNext, messageTarget, messageRecycleUnchecked);
+        } catch (ClassNotFoundException | NoSuchMethodException | NoSuchFieldException | SecurityException e) {
+            Log.e(TAG, "Failed to resolve modal loop, dialogs would be unavailable", e);
+            return UNAVAILABLE;
+        }
+    }
+
+    /**
+     * Lazy holder, class initialization guarantees single resolution and safe publication.
+     */
+    private static final class Holder {
+        static final ModalLoopCapability INSTANCE = resolve();
+    }
+}
@@ -0,0 +1,76 @@
+package com.triangleleft.assertdialog;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Message;
+import android.os.MessageQueue;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Modal loop that pulls messages from main queue using hidden {@code MessageQueue.next()} and
+ * dispatches them itself.
+ * Based on http://stackoverflow.com/questions/6120567/android-how-to-get-a-modal-dialog-or-similar-modal-behavior/6198192#6198192
+ */
+public class ReflectiveModalLoop implements ModalLoop {
+
+    private boolean mQuit;
+
+    @Override
+    public boolean isAvailable() {
+        return ModalLoopCapability.get().isAvailable();
+    }
+
+    @Override
+    public void loop() {
+        ModalLoopCapability capability = ModalLoopCapability.get();
+        mQuit = false;
+
+        // get message queue associated with main UI thread
+        MessageQueue queue = Looper.myQueue();
+        while (!mQuit) {
+            // call queue.next(), might block
+            Message msg = null;
+            try {
+                msg = (Message) capability.queueNext.invoke(queue);
+            } catch (IllegalArgumentException | IllegalAccessException | InvocationTargetException e) {
+                e.printStackTrace();
+            }
+
+            if (msg != null) {
+                Handler target = null;
+                try {
+                    target = (Handler) capability.messageTarget.get(msg);
+                } catch (IllegalArgumentException | IllegalAccessException e) {
+                    e.printStackTrace();
+                }
+
+                if (target == null) {
+                    // No target is a magic identifier for the quit message.
+                    mQuit = true;
+                    break;
+                }
+
+                target.dispatchMessage(msg);
+                // Starting from lollipop we have to use unchecked version
+                if (capability.messageRecycleUnchecked != null) {
+                    try {
+                        capability.messageRecycleUnchecked.invoke(msg);
+                    } catch (IllegalAccessException e) {
+                        e.printStackTrace();
+                    } catch (InvocationTargetException e) {
+                        e.printStackTrace();
+                    }
+                } else {
+                    msg.recycle();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void quit() {
+        // Checked by loop() right after dispatching message that called us
+        mQuit = true;
+    }
+}
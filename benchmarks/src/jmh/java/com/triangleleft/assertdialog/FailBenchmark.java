@@ -0,0 +1,78 @@
+package com.triangleleft.assertdialog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of failed assertion in LOG and THROW modes, and of its parts: stack capture, call site
+ * fingerprint and Log.wtf formatting (through {@link LogStubFailureHandler}, without actual I/O).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FailBenchmark {
+
+    @Param({"LOG", "THROW"})
+    public Asserts.AssertMode mode;
+
+    private boolean mCondition = false;
+    private LogStubFailureHandler mHandler = new LogStubFailureHandler();
+    private Throwable mCaptured;
+    private long mCallSite;
+
+    @Setup
+    public void setup() {
+        Asserts.init(mode, mHandler);
+        mCaptured = new Throwable();
+        mCallSite = CallSiteFingerprint.of(mCaptured);
+    }
+
+    @Benchmark
+    public Object assertTrue() {
+        try {
+            Asserts.assertTrue("message", mCondition);
+        } catch (AssertionError e) {
+            return e;
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Object assertEqualsLong() {
+        try {
+            Asserts.assertEquals(1000L, mCondition ? 1000L : 1001L);
+        } catch (AssertionError e) {
+            return e;
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Throwable captureStack() {
+        return new Throwable();
+    }
+
+    @Benchmark
+    public long fingerprint() {
+        return CallSiteFingerprint.of(mCaptured);
+    }
+
+    @Benchmark
+    public void logWtf() {
+        mHandler.log("message", mCaptured, mCallSite);
+    }
+}
@@ -0,0 +1,64 @@
+package com.triangleleft.assertdialog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of failure message formatting, when compared values have big toString().
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private List<Integer> mExpected;
+    private List<Integer> mActual;
+    private List<Long> mSameString;
+
+    @Setup
+    public void setup() {
+        mExpected = new ArrayList<>(size);
+        mActual = new ArrayList<>(size);
+        mSameString = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            mExpected.add(i);
+            mActual.add(i);
+            mSameString.add((long) i);
+        }
+        mActual.set(size - 1, -1);
+    }
+
+    @Benchmark
+    public String formatDifferent() {
+        return Asserts.format("message", mExpected, mActual);
+    }
+
+    @Benchmark
+    public String formatSameString() {
+        return Asserts.format("message", mExpected, mSameString);
+    }
+
+    @Benchmark
+    public String formatTemplate() {
+        return Asserts.format("message {} {}", new Object[]{size, "arg"}, mExpected, mActual);
+    }
+}
@@ -0,0 +1,112 @@
+package com.triangleleft.assertdialog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of assertions that pass, which is what every assert costs in a healthy app.
+ * Values live in state fields, so JIT can't fold conditions to constants.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PassBenchmark {
+
+    private boolean mCondition = true;
+    private int mInt = 1000;
+    private long mLong = 1000L;
+    private char mChar = 'a';
+    private double mDouble = 1.5;
+    private Object mObject = "value";
+    private Object mEqualObject = new String("value");
+    private Object mArg = "arg";
+    private Asserts.MessageSupplier mSupplier = new Asserts.MessageSupplier() {
+        @Override
+        public String get() {
+            return "message " + mArg;
+        }
+    };
+
+    @Setup
+    public void setup() {
+        Asserts.init(Asserts.AssertMode.THROW, new LogStubFailureHandler());
+    }
+
+    @Benchmark
+    public void assertTrue() {
+        Asserts.assertTrue(mCondition);
+    }
+
+    @Benchmark
+    public void assertTrueMessage() {
+        Asserts.assertTrue("message", mCondition);
+    }
+
+    @Benchmark
+    public void assertTrueSupplier() {
+        Asserts.assertTrue(mSupplier, mCondition);
+    }
+
+    @Benchmark
+    public void assertTrueTemplate() {
+        Asserts.assertTrue(mCondition, "message {}", mArg);
+    }
+
+    @Benchmark
+    public void assertEqualsInt() {
+        Asserts.assertEquals(mInt, mInt);
+    }
+
+    @Benchmark
+    public void assertEqualsLong() {
+        Asserts.assertEquals(mLong, mLong);
+    }
+
+    @Benchmark
+    public void assertEqualsChar() {
+        Asserts.assertEquals(mChar, mChar);
+    }
+
+    @Benchmark
+    public void assertEqualsBoolean() {
+        Asserts.assertEquals(mCondition, mCondition);
+    }
+
+    @Benchmark
+    public void assertEqualsDouble() {
+        Asserts.assertEquals(mDouble, mDouble, 0.001);
+    }
+
+    @Benchmark
+    public void assertEqualsObject() {
+        Asserts.assertEquals(mObject, mEqualObject);
+    }
+
+    @Benchmark
+    public void assertNotEqualsLong() {
+        Asserts.assertNotEquals(mLong, mInt + 1);
+    }
+
+    @Benchmark
+    public void assertNotNull() {
+        Asserts.assertNotNull(mObject);
+    }
+
+    @Benchmark
+    public void assertSame() {
+        Asserts.assertSame(mObject, mObject);
+    }
+}
@@ -0,0 +1,319 @@
+package com.triangleleft.assertdialog;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import static com.triangleleft.assertdialog.Asserts.assertArrayEquals;
+import static com.triangleleft.assertdialog.Asserts.assertEquals;
+import static com.triangleleft.assertdialog.Asserts.assertFalse;
+import static com.triangleleft.assertdialog.Asserts.assertNotEquals;
+import static com.triangleleft.assertdialog.Asserts.assertNotNull;
+import static com.triangleleft.assertdialog.Asserts.assertNotSame;
+import static com.triangleleft.assertdialog.Asserts.assertNull;
+import static com.triangleleft.assertdialog.Asserts.assertSampled;
+import static com.triangleleft.assertdialog.Asserts.assertSame;
+import static com.triangleleft.assertdialog.Asserts.assertTrue;
+import static com.triangleleft.assertdialog.Asserts.assertWithinBudget;
+import static com.triangleleft.assertdialog.Asserts.startBudget;
+
+/**
+ * Verifies that passing assertions don't allocate. Runs each group of assert overloads a million
+ * times (after warm up, so JIT has compiled them) and checks thread allocation counter.
+ * Varargs template overloads are not checked, they allocate array at call site by design.
+ * <p>
+ * Run with {@code ./gradlew :benchmarks:checkAllocations}, exits with non zero code on failure.
+ */
+public final class AllocationCheck {
+
+    private static final int WARMUP_CALLS = 200000;
+    private static final int CALLS = 1000000;
+
+    // Non final, so JIT can't fold conditions
+    private static boolean sTrue = true;
+    private static boolean sFalse = false;
+    private static int sInt = 1000;
+    private static int sOtherInt = 1001;
+    private static long sLong = 100000L;
+    private static long sOtherLong = 100001L;
+    private static char sChar = 'a';
+    private static char sOtherChar = 'b';
+    private static short sShort = 1000;
+    private static short sOtherShort = 1001;
+    private static byte sByte = 100;
+    private static byte sOtherByte = 101;
+    private static double sDouble = 1000.5;
+    private static double sOtherDouble = 2000.5;
+    private static float sFloat = 1000.5f;
+    private static float sOtherFloat = 2000.5f;
+    private static Object sObject = "value";
+    private static Object sEqualObject = new String("value");
+    private static Object sOtherObject = "other";
+    private static Object sNull = null;
+    private static Object sArg = "arg";
+    private static Asserts.MessageSupplier sSupplier = new Asserts.MessageSupplier() {
+        @Override
+        public String get() {
+            return "message " + sArg;
+        }
+    };
+
+    private static Asserts.Invariant sInvariant = new Asserts.Invariant() {
+        @Override
+        public boolean holds() {
+            return sTrue;
+        }
+    };
+    private static AssertTag sEveryNthTag = AssertTag.of("sampled.nth");
+    private static AssertTag sRandomTag = AssertTag.of("sampled.random");
+
+    private static int[] sInts = {1, 2, 3, 4, 5, 6, 7, 8};
+    private static int[] sEqualInts = sInts.clone();
+    private static double[] sDoubles = {1.5, 2.5, 3.5, 4.5};
+    private static double[] sEqualDoubles = sDoubles.clone();
+    private static Object[] sObjects = {"a", "b", null, "d"};
+    private static Object[] sEqualObjects = sObjects.clone();
+
+    private static int sFailures;
+
+    private AllocationCheck() {
+    }
+
+    public static void main(String[] args) {
+        // Any failure would throw, no dialogs or Looper involved
+        Asserts.init(Asserts.AssertMode.THROW, new LogStubFailureHandler());
+
+        check("assertTrue", new Calls() {
+            @Override
+            public void run() {
+                assertTrue(sTrue);
+                assertTrue("message", sTrue);
+                assertTrue(sSupplier, sTrue);
+                assertTrue(sTrue, "{}", sArg);
+                assertTrue(sTrue, "{} {}", sArg, sArg);
+                assertTrue(sTrue, "{} {} {}", sArg, sArg, sArg);
+            }
+        });
+        check("assertFalse", new Calls() {
+            @Override
+            public void run() {
+                assertFalse(sFalse);
+                assertFalse("message", sFalse);
+                assertFalse(sSupplier, sFalse);
+                assertFalse(sFalse, "{}", sArg);
+                assertFalse(sFalse, "{} {}", sArg, sArg);
+                assertFalse(sFalse, "{} {} {}", sArg, sArg, sArg);
+            }
+        });
+        check("assertEquals(Object)", new Calls() {
+            @Override
+            public void run() {
+                assertEquals(sObject, sEqualObject);
+                assertEquals("message", sObject, sEqualObject);
+                assertEquals(sSupplier, sObject, sEqualObject);
+                assertEquals(sNull, sNull);
+            }
+        });
+        check("assertNotEquals(Object)", new Calls() {
+            @Override
+            public void run() {
+                assertNotEquals(sObject, sOtherObject);
+                assertNotEquals("message", sObject, sOtherObject);
+                assertNotEquals(sSupplier, sObject, sOtherObject);
+            }
+        });
+        check("assertEquals(long)", new Calls() {
+            @Override
+            public void run() {
+                assertEquals(sLong, sLong);
+                assertEquals("message", sLong, sLong);
+                assertEquals(sSupplier, sLong, sLong);
+                assertEquals(sLong, sLong, "{}", sArg);
+                assertEquals(sLong, sLong, "{} {}", sArg, sArg);
+                assertEquals(sLong, sLong, "{} {} {}", sArg, sArg, sArg);
+            }
+        });
+        check("assertNotEquals(long)", new Calls() {
+            @Override
+            public void run() {
+                assertNotEquals(sLong, sOtherLong);
+                assertNotEquals("message", sLong, sOtherLong);
+                assertNotEquals(sSupplier, sLong, sOtherLong);
+                assertNotEquals(sLong, sOtherLong, "{}", sArg);
+                assertNotEquals(sLong, sOtherLong, "{} {}", sArg, sArg);
+                assertNotEquals(sLong, sOtherLong, "{} {} {}", sArg, sArg, sArg);
+            }
+        });
+        check("assertEquals(int, char, short, byte, boolean)", new Calls() {
+            @Override
+            public void run() {
+                assertEquals(sInt, sInt);
+                assertEquals("message", sInt, sInt);
+                assertEquals(sSupplier, sInt, sInt);
+                assertEquals(sChar, sChar);
+                assertEquals("message", sChar, sChar);
+                assertEquals(sSupplier, sChar, sChar);
+                assertEquals(sShort, sShort);
+                assertEquals("message", sShort, sShort);
+                assertEquals(sSupplier, sShort, sShort);
+                assertEquals(sByte, sByte);
+                assertEquals("message", sByte, sByte);
+                assertEquals(sSupplier, sByte, sByte);
+                assertEquals(sTrue, sTrue);
+                assertEquals("message", sTrue, sTrue);
+                assertEquals(sSupplier, sTrue, sTrue);
+            }
+        });
+        check("assertNotEquals(int, char, short, byte, boolean)", new Calls() {
+            @Override
+            public void run() {
+                assertNotEquals(sInt, sOtherInt);
+                assertNotEquals("message", sInt, sOtherInt);
+                assertNotEquals(sSupplier, sInt, sOtherInt);
+                assertNotEquals(sChar, sOtherChar);
+                assertNotEquals("message", sChar, sOtherChar);
+                assertNotEquals(sSupplier, sChar, sOtherChar);
+                assertNotEquals(sShort, sOtherShort);
+                assertNotEquals("message", sShort, sOtherShort);
+                assertNotEquals(sSupplier, sShort, sOtherShort);
+                assertNotEquals(sByte, sOtherByte);
+                assertNotEquals("message", sByte, sOtherByte);
+                assertNotEquals(sSupplier, sByte, sOtherByte);
+                assertNotEquals(sTrue, sFalse);
+                assertNotEquals("message", sTrue, sFalse);
+                assertNotEquals(sSupplier, sTrue, sFalse);
+            }
+        });
+        check("assertEquals(double, float)", new Calls() {
+            @Override
+            public void run() {
+                assertEquals(sDouble, sDouble, 0.1);
+                assertEquals("message", sDouble, sDouble, 0.1);
+                assertEquals(sSupplier, sDouble, sDouble, 0.1);
+                assertEquals(sDouble, sDouble, 0.1, "{}", sArg);
+                assertEquals(sDouble, sDouble, 0.1, "{} {}", sArg, sArg);
+                assertEquals(sDouble, sDouble, 0.1, "{} {} {}", sArg, sArg, sArg);
+                assertEquals(sFloat, sFloat, 0.1f);
+                assertEquals("message", sFloat, sFloat, 0.1f);
+                assertEquals(sSupplier, sFloat, sFloat, 0.1f);
+                assertEquals(sFloat, sFloat, 0.1f, "{}", sArg);
+                assertEquals(sFloat, sFloat, 0.1f, "{} {}", sArg, sArg);
+                assertEquals(sFloat, sFloat, 0.1f, "{} {} {}", sArg, sArg, sArg);
+            }
+        });
+        check("assertNotEquals(double, float)", new Calls() {
+            @Override
+            public void run() {
+                assertNotEquals(sDouble, sOtherDouble, 0.1);
+                assertNotEquals("message", sDouble, sOtherDouble, 0.1);
+                assertNotEquals(sSupplier, sDouble, sOtherDouble, 0.1);
+                assertNotEquals(sDouble, sOtherDouble, 0.1, "{}", sArg);
+                assertNotEquals(sDouble, sOtherDouble, 0.1, "{} {}", sArg, sArg);
+                assertNotEquals(sDouble, sOtherDouble, 0.1, "{} {} {}", sArg, sArg, sArg);
+                assertNotEquals(sFloat, sOtherFloat, 0.1f);
+                assertNotEquals("message", sFloat, sOtherFloat, 0.1f);
+                assertNotEquals(sSupplier, sFloat, sOtherFloat, 0.1f);
+                assertNotEquals(sFloat, sOtherFloat, 0.1f, "{}", sArg);
+                assertNotEquals(sFloat, sOtherFloat, 0.1f, "{} {}", sArg, sArg);
+                assertNotEquals(sFloat, sOtherFloat, 0.1f, "{} {} {}", sArg, sArg, sArg);
+            }
+        });
+        check("assertNotNull, assertNull", new Calls() {
+            @Override
+            public void run() {
+                assertNotNull(sObject);
+                assertNotNull("message", sObject);
+                assertNotNull(sSupplier, sObject);
+                assertNotNull(sObject, "{}", sArg);
+                assertNotNull(sObject, "{} {}", sArg, sArg);
+                assertNotNull(sObject, "{} {} {}", sArg, sArg, sArg);
+                assertNull(sNull);
+                assertNull("message", sNull);
+                assertNull(sSupplier, sNull);
+                assertNull(sNull, "{}", sArg);
+                assertNull(sNull, "{} {}", sArg, sArg);
+                assertNull(sNull, "{} {} {}", sArg, sArg, sArg);
+            }
+        });
+        check("assertSame, assertNotSame", new Calls() {
+            @Override
+            public void run() {
+                assertSame(sObject, sObject);
+                assertSame("message", sObject, sObject);
+                assertSame(sSupplier, sObject, sObject);
+                assertSame(sObject, sObject, "{}", sArg);
+                assertSame(sObject, sObject, "{} {}", sArg, sArg);
+                assertSame(sObject, sObject, "{} {} {}", sArg, sArg, sArg);
+                assertNotSame(sObject, sEqualObject);
+                assertNotSame("message", sObject, sEqualObject);
+                assertNotSame(sSupplier, sObject, sEqualObject);
+                assertNotSame(sObject, sEqualObject, "{}", sArg);
+                assertNotSame(sObject, sEqualObject, "{} {}", sArg, sArg);
+                assertNotSame(sObject, sEqualObject, "{} {} {}", sArg, sArg, sArg);
+            }
+        });
+        Asserts.setTagSampleRate("sampled.nth", SampleRate.everyNth(10));
+        Asserts.setTagSampleRate("sampled.random", SampleRate.probability(0.1));
+        check("assertSampled", new Calls() {
+            @Override
+            public void run() {
+                assertSampled("message", sInvariant);
+                assertSampled(sEveryNthTag, "message", sInvariant);
+                assertSampled(sRandomTag, "message", sInvariant);
+            }
+        });
+        check("assertArrayEquals", new Calls() {
+            @Override
+            public void run() {
+                assertArrayEquals(sInts, sEqualInts);
+                assertArrayEquals("message", sInts, sEqualInts);
+                assertArrayEquals(sDoubles, sEqualDoubles, 0.1);
+                assertArrayEquals(sObjects, sEqualObjects);
+            }
+        });
+        check("startBudget, assertWithinBudget", new Calls() {
+            @Override
+            public void run() {
+                long token = startBudget();
+                assertWithinBudget("message", token, 1, TimeUnit.MINUTES);
+            }
+        });
+
+        if (sFailures > 0) {
+            System.out.println(sFailures + " group(s) allocated on pass path");
+            System.exit(1);
+        }
+        System.out.println("No allocations on pass path");
+    }
+
+    private static void check(String name, Calls calls) {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            calls.run();
+        }
+
+        // Measuring itself may allocate a bit, so take calibration measurement first
+        long calibrationStart = threadBean.getThreadAllocatedBytes(threadId);
+        long calibration = threadBean.getThreadAllocatedBytes(threadId) - calibrationStart;
+
+        long start = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < CALLS; i++) {
+            calls.run();
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - start - calibration;
+
+        // Smallest object takes more than byte per call, few hundred bytes in total is JVM itself
+        if (allocated >= CALLS) {
+            sFailures++;
+            System.out.println("FAIL " + name + ": " + allocated + " bytes per " + CALLS + " calls");
+        } else {
+            System.out.println("OK   " + name);
+        }
+    }
+
+    private interface Calls {
+        void run();
+    }
+}
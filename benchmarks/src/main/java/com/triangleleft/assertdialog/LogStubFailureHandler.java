@@ -0,0 +1,38 @@
+package com.triangleleft.assertdialog;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * Stands in for android Log.wtf: formats message and stack trace the same way framework does,
+ * but doesn't write it anywhere, so benchmarks measure formatting cost without I/O.
+ */
+public class LogStubFailureHandler implements FailureHandler {
+
+    /**
+     * Last formatted entry, keeps JIT from throwing formatting away.
+     */
+    public static volatile String sLastEntry;
+
+    @Override
+    public void log(String message, Throwable throwable, long callSite) {
+        StringWriter sw = new StringWriter();
+        PrintWriter pw = new PrintWriter(sw);
+        throwable.printStackTrace(pw);
+        pw.flush();
+        if (callSite != 0) {
+            message = message + " [" + CallSiteFingerprint.format(callSite) + "]";
+        }
+        sLastEntry = "AssertDialog: " + message + '\n' + sw;
+    }
+
+    @Override
+    public DialogResult showDialog(String message, long timeoutMillis) {
+        return DialogResult.UNAVAILABLE;
+    }
+
+    @Override
+    public boolean showDialogAsync(String message) {
+        return false;
+    }
+}